@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.component;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.network.Replicate;
+
+import java.util.List;
+
+/**
+ * Marks a station that crafts the configured recipe on its own, whenever its inputs and output space allow.
+ */
+public class AutomaticCraftingComponent implements Component {
+    @Replicate
+    public String processId;
+    /**
+     * Parameters of the recipe to craft, if null the first matching parameters found in the station are used.
+     */
+    @Replicate
+    public List<String> parameters;
+}
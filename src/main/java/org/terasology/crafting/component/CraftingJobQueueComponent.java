@@ -0,0 +1,57 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.component;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.network.Replicate;
+import org.terasology.reflection.MappedContainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Crafting jobs waiting to be processed by the station, in the order they will be started.
+ */
+public class CraftingJobQueueComponent implements Component {
+    @Replicate
+    public List<CraftingJob> jobs = new ArrayList<>();
+    /**
+     * Id given to the next job added to the queue.
+     */
+    public int nextJobId;
+
+    @MappedContainer
+    public static class CraftingJob {
+        /**
+         * Id of the job, unique within the queue, used to refer to the job (i.e. to cancel it).
+         */
+        @Replicate
+        public int id;
+        @Replicate
+        public EntityRef instigator = EntityRef.NULL;
+        @Replicate
+        public String processId;
+        /**
+         * Parameters of the recipe without their slots (see ItemSlotParameter.getValuesPart), the slots are resolved
+         * when the job is started.
+         */
+        @Replicate
+        public List<String> parameters;
+        @Replicate
+        public int count;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.event;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.network.ServerEvent;
+
+/**
+ * Removes a crafting job, that has not been started yet, from the job queue of the station the event is sent to. The
+ * job is identified by its id (CraftingJobQueueComponent.CraftingJob.id).
+ */
+@ServerEvent
+public class CancelCraftingJobRequest implements Event {
+    private EntityRef instigator;
+    private int jobId;
+
+    public CancelCraftingJobRequest() {
+    }
+
+    public CancelCraftingJobRequest(EntityRef instigator, int jobId) {
+        this.instigator = instigator;
+        this.jobId = jobId;
+    }
+
+    public EntityRef getInstigator() {
+        return instigator;
+    }
+
+    public int getJobId() {
+        return jobId;
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.event;
+
+import org.terasology.entitySystem.event.Event;
+
+import java.util.List;
+
+/**
+ * Sent to the workstation when it has started a crafting process.
+ */
+public class CraftingProcessStarted implements Event {
+    private String processId;
+    private List<String> parameters;
+    private int count;
+
+    public CraftingProcessStarted(String processId, List<String> parameters, int count) {
+        this.processId = processId;
+        this.parameters = parameters;
+        this.count = count;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.event;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.network.ServerEvent;
+
+import java.util.List;
+
+/**
+ * Adds a crafting job at the end of the job queue of the station the event is sent to. The jobs of a queue are started
+ * strictly in order, the job is started once all the jobs before it have been started and the station holds its
+ * ingredients. The slots in the parameters are not kept, the ingredients are looked up in the station again when the
+ * job is started.
+ */
+@ServerEvent
+public class EnqueueCraftingJobRequest implements Event {
+    private EntityRef instigator;
+    private String processId;
+    private List<String> parameters;
+    private int count;
+
+    public EnqueueCraftingJobRequest() {
+    }
+
+    public EnqueueCraftingJobRequest(EntityRef instigator, String processId, List<String> parameters, int count) {
+        this.instigator = instigator;
+        this.processId = processId;
+        this.parameters = parameters;
+        this.count = count;
+    }
+
+    public EntityRef getInstigator() {
+        return instigator;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
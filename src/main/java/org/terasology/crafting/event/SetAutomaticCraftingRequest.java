@@ -0,0 +1,54 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.event;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.Event;
+import org.terasology.network.ServerEvent;
+
+import java.util.List;
+
+/**
+ * Configures the station the event is sent to to craft the specified recipe automatically. A null process id turns
+ * automatic crafting off.
+ */
+@ServerEvent
+public class SetAutomaticCraftingRequest implements Event {
+    private EntityRef instigator;
+    private String processId;
+    private List<String> parameters;
+
+    public SetAutomaticCraftingRequest() {
+    }
+
+    public SetAutomaticCraftingRequest(EntityRef instigator, String processId, List<String> parameters) {
+        this.instigator = instigator;
+        this.processId = processId;
+        this.parameters = parameters;
+    }
+
+    public EntityRef getInstigator() {
+        return instigator;
+    }
+
+    public String getProcessId() {
+        return processId;
+    }
+
+    public List<String> getParameters() {
+        return parameters;
+    }
+}
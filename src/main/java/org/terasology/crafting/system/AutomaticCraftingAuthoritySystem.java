@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.component.AutomaticCraftingComponent;
+import org.terasology.crafting.event.SetAutomaticCraftingRequest;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.In;
+import org.terasology.workstation.component.WorkstationComponent;
+import org.terasology.workstation.event.WorkstationStateChanged;
+import org.terasology.workstation.process.InvalidProcessException;
+import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.system.WorkstationRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Switches stations between manual and automatic crafting. A station crafting automatically has the process type of
+ * its configured recipe marked as automatic, so the workstation framework starts the recipe on its own whenever the
+ * station's state changes, and the recipe starts only if its inputs and output space allow.
+ * The framework marks whole process types as automatic, the other crafting processes of the type refuse to start
+ * automatically, so only the configured recipe is crafted. Process types that also have processes other than crafting
+ * ones can't be switched to automatic crafting.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+public class AutomaticCraftingAuthoritySystem extends BaseComponentSystem {
+    @In
+    private CraftingStationRecipeIndex recipeIndex;
+    @In
+    private WorkstationRegistry workstationRegistry;
+
+    @ReceiveEvent
+    public void setAutomaticCrafting(SetAutomaticCraftingRequest event, EntityRef station, WorkstationComponent workstation) {
+        String processId = event.getProcessId();
+        CraftingWorkstationProcess process = null;
+        if (processId != null) {
+            process = getCraftingProcess(station, processId);
+            if (process == null || !isAutomaticCraftingAllowed(station, process, event.getParameters())) {
+                return;
+            }
+        }
+
+        AutomaticCraftingComponent automaticCrafting = station.getComponent(AutomaticCraftingComponent.class);
+        if (automaticCrafting != null) {
+            CraftingWorkstationProcess previousProcess = getCraftingProcess(station, automaticCrafting.processId);
+            if (previousProcess != null) {
+                String processType = previousProcess.getProcessType();
+                workstation.supportedProcessTypes.put(processType, isAutomaticByDefault(station, processType));
+            }
+            station.removeComponent(AutomaticCraftingComponent.class);
+        }
+
+        if (process != null) {
+            automaticCrafting = new AutomaticCraftingComponent();
+            automaticCrafting.processId = processId;
+            if (event.getParameters() != null) {
+                automaticCrafting.parameters = new ArrayList<>(event.getParameters());
+            }
+            station.addComponent(automaticCrafting);
+
+            workstation.supportedProcessTypes.put(process.getProcessType(), true);
+        }
+
+        station.saveComponent(workstation);
+        station.send(new WorkstationStateChanged());
+    }
+
+    private boolean isAutomaticCraftingAllowed(EntityRef station, CraftingWorkstationProcess process, List<String> parameters) {
+        for (WorkstationProcess typeProcess : workstationRegistry.getWorkstationProcesses(Collections.singleton(process.getProcessType()))) {
+            if (!(typeProcess instanceof CraftingWorkstationProcess)) {
+                return false;
+            }
+        }
+
+        if (parameters != null) {
+            try {
+                process.canCraft(station, parameters, 1);
+            } catch (InvalidProcessException e) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private CraftingWorkstationProcess getCraftingProcess(EntityRef station, String processId) {
+        for (CraftingWorkstationProcess process : recipeIndex.getProcesses(station)) {
+            if (process.getId().equals(processId)) {
+                return process;
+            }
+        }
+        return null;
+    }
+
+    private boolean isAutomaticByDefault(EntityRef station, String processType) {
+        Prefab prefab = station.getParentPrefab();
+        if (prefab != null) {
+            WorkstationComponent defaultWorkstation = prefab.getComponent(WorkstationComponent.class);
+            if (defaultWorkstation != null) {
+                Boolean automatic = defaultWorkstation.supportedProcessTypes.get(processType);
+                return automatic != null && automatic;
+            }
+        }
+        return false;
+    }
+}
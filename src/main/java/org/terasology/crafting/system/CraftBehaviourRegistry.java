@@ -0,0 +1,49 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import com.google.common.base.Predicate;
+import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.InventorySlotResolver;
+import org.terasology.crafting.system.recipe.behaviour.PresenceItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Creates craft behaviours, sharing a single instance between all the recipes that use an equal behaviour, predicate
+ * or slot resolver. Recipes registered for many shapes or materials differ only in counts and results, so this keeps
+ * one predicate and resolver per ingredient type and lets CraftingValidationContext reuse the scan of the slots
+ * for all of them.
+ */
+public interface CraftBehaviourRegistry {
+    /**
+     * Returns the shared instance equal to the specified value. Should be used only for immutable objects with value
+     * equality, like item predicates and slot resolvers.
+     *
+     * @param value
+     * @param <T>
+     * @return
+     */
+    <T> T canonical(T value);
+
+    InventorySlotResolver slotTypeResolver(String slotType);
+
+    ConsumeItemCraftBehaviour consumeItem(Predicate<EntityRef> matcher, int count, InventorySlotResolver resolver);
+
+    ReduceDurabilityCraftBehaviour reduceDurability(Predicate<EntityRef> matcher, int durabilityUsed, InventorySlotResolver resolver);
+
+    PresenceItemCraftBehaviour presenceItem(Predicate<EntityRef> matcher, int count, InventorySlotResolver resolver);
+}
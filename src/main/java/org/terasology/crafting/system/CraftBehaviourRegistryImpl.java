@@ -0,0 +1,101 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import com.google.common.base.Predicate;
+import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.IngredientCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.InventorySlotResolver;
+import org.terasology.crafting.system.recipe.behaviour.InventorySlotTypeResolver;
+import org.terasology.crafting.system.recipe.behaviour.PresenceItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.Share;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = CraftBehaviourRegistry.class)
+public class CraftBehaviourRegistryImpl extends BaseComponentSystem implements CraftBehaviourRegistry {
+    private Map<Object, Object> canonicalValues = new HashMap<>();
+    private Map<List<Object>, IngredientCraftBehaviour<EntityRef>> behaviours = new HashMap<>();
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T canonical(T value) {
+        Object result = canonicalValues.get(value);
+        if (result == null) {
+            canonicalValues.put(value, value);
+            return value;
+        }
+        return (T) result;
+    }
+
+    @Override
+    public InventorySlotResolver slotTypeResolver(String slotType) {
+        return canonical(new InventorySlotTypeResolver(slotType));
+    }
+
+    @Override
+    public ConsumeItemCraftBehaviour consumeItem(Predicate<EntityRef> matcher, int count, InventorySlotResolver resolver) {
+        Predicate<EntityRef> sharedMatcher = canonical(matcher);
+        InventorySlotResolver sharedResolver = canonical(resolver);
+        List<Object> key = Arrays.<Object>asList(ConsumeItemCraftBehaviour.class, sharedMatcher, count, sharedResolver);
+        IngredientCraftBehaviour<EntityRef> behaviour = behaviours.get(key);
+        if (behaviour == null) {
+            behaviour = new ConsumeItemCraftBehaviour(sharedMatcher, count, sharedResolver);
+            behaviours.put(key, behaviour);
+        }
+        return (ConsumeItemCraftBehaviour) behaviour;
+    }
+
+    @Override
+    public ReduceDurabilityCraftBehaviour reduceDurability(Predicate<EntityRef> matcher, int durabilityUsed, InventorySlotResolver resolver) {
+        Predicate<EntityRef> sharedMatcher = canonical(matcher);
+        InventorySlotResolver sharedResolver = canonical(resolver);
+        List<Object> key = Arrays.<Object>asList(ReduceDurabilityCraftBehaviour.class, sharedMatcher, durabilityUsed, sharedResolver);
+        IngredientCraftBehaviour<EntityRef> behaviour = behaviours.get(key);
+        if (behaviour == null) {
+            behaviour = new ReduceDurabilityCraftBehaviour(sharedMatcher, durabilityUsed, sharedResolver);
+            behaviours.put(key, behaviour);
+        }
+        return (ReduceDurabilityCraftBehaviour) behaviour;
+    }
+
+    @Override
+    public PresenceItemCraftBehaviour presenceItem(Predicate<EntityRef> matcher, int count, InventorySlotResolver resolver) {
+        Predicate<EntityRef> sharedMatcher = canonical(matcher);
+        InventorySlotResolver sharedResolver = canonical(resolver);
+        List<Object> key = Arrays.<Object>asList(PresenceItemCraftBehaviour.class, sharedMatcher, count, sharedResolver);
+        IngredientCraftBehaviour<EntityRef> behaviour = behaviours.get(key);
+        if (behaviour == null) {
+            behaviour = new PresenceItemCraftBehaviour(sharedMatcher, count, sharedResolver);
+            behaviours.put(key, behaviour);
+        }
+        return (PresenceItemCraftBehaviour) behaviour;
+    }
+
+    @Override
+    public void shutdown() {
+        canonicalValues.clear();
+        behaviours.clear();
+    }
+}
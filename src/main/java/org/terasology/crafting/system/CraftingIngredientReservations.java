@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Map;
+
+/**
+ * Keeps the ingredients of the crafting jobs queued in the stations from being taken by other crafting.
+ */
+public interface CraftingIngredientReservations {
+    /**
+     * Returns the number of items reserved in each slot of the station, that crafting other than the reserving job
+     * must not take.
+     *
+     * @param station
+     * @return
+     */
+    Map<Integer, Integer> getReservedItems(EntityRef station);
+}
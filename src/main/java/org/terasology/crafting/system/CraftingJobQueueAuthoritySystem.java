@@ -0,0 +1,272 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.component.CraftingJobQueueComponent;
+import org.terasology.crafting.event.CancelCraftingJobRequest;
+import org.terasology.crafting.event.CraftingProcessFinished;
+import org.terasology.crafting.event.CraftingProcessStarted;
+import org.terasology.crafting.event.CraftingWorkstationProcessRequest;
+import org.terasology.crafting.event.EnqueueCraftingJobRequest;
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
+import org.terasology.crafting.system.recipe.behaviour.ItemSlotParameter;
+import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.logic.inventory.events.InventorySlotChangedEvent;
+import org.terasology.logic.inventory.events.InventorySlotStackSizeChangedEvent;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.workstation.component.WorkstationComponent;
+import org.terasology.workstation.process.InvalidProcessException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Processes the crafting job queues of the stations. The jobs of a queue are started strictly in order: the first job
+ * is requested as soon as the previous crafting process of the station finishes, and retried whenever the inventory
+ * of the station changes. A job is skipped (dropped) only if it can never be crafted, i.e. its recipe is gone or its
+ * parameters don't describe a result of the recipe.
+ * The slots of a job's ingredients are looked up again when it is started, so moving the items within the station
+ * does not break the job. Once the station holds all the ingredients of the first job, they are reserved for it, so
+ * crafting started by other means (manually or automatically) can't take them.
+ */
+@RegisterSystem(RegisterMode.AUTHORITY)
+@Share(value = CraftingIngredientReservations.class)
+public class CraftingJobQueueAuthoritySystem extends BaseComponentSystem implements UpdateSubscriberSystem, CraftingIngredientReservations {
+    @In
+    private CraftingStationRecipeIndex recipeIndex;
+
+    private Set<EntityRef> pendingStations = new LinkedHashSet<>();
+    private Map<EntityRef, Map<Integer, Integer>> reservedItems = new HashMap<>();
+
+    private EntityRef startingStation = EntityRef.NULL;
+    private boolean jobStarted;
+
+    @Override
+    public void update(float delta) {
+        if (pendingStations.isEmpty()) {
+            return;
+        }
+
+        List<EntityRef> stations = new ArrayList<>(pendingStations);
+        pendingStations.clear();
+        for (EntityRef station : stations) {
+            if (station.exists()) {
+                startNextJob(station);
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pendingStations.clear();
+        reservedItems.clear();
+    }
+
+    private void startNextJob(EntityRef station) {
+        while (true) {
+            CraftingJobQueueComponent queue = station.getComponent(CraftingJobQueueComponent.class);
+            if (queue == null || queue.jobs.isEmpty()) {
+                return;
+            }
+
+            CraftingJobQueueComponent.CraftingJob job = queue.jobs.get(0);
+            try {
+                if (!startJob(station, job)) {
+                    return;
+                }
+                removeJob(station, job.id);
+                return;
+            } catch (InvalidProcessException e) {
+                // The job can never be crafted, so it does not hold up the jobs after it
+                removeJob(station, job.id);
+            }
+        }
+    }
+
+    private boolean startJob(EntityRef station, CraftingJobQueueComponent.CraftingJob job) throws InvalidProcessException {
+        CraftingStationRecipe.CraftingStationResult result = resolveResult(station, job);
+        if (result == null) {
+            return false;
+        }
+
+        EntityRef instigator = job.instigator.exists() ? job.instigator : station;
+
+        startingStation = station;
+        jobStarted = false;
+        try {
+            station.send(new CraftingWorkstationProcessRequest(instigator, job.processId, result.getResultParameters(), job.count));
+        } finally {
+            startingStation = EntityRef.NULL;
+        }
+        return jobStarted;
+    }
+
+    private CraftingStationRecipe.CraftingStationResult resolveResult(EntityRef station, CraftingJobQueueComponent.CraftingJob job) throws InvalidProcessException {
+        CraftingWorkstationProcess process = getCraftingProcess(station, job.processId);
+        if (process == null) {
+            throw new InvalidProcessException();
+        }
+        return process.resolveResult(new CraftingValidationContext(station), job.parameters, job.count);
+    }
+
+    private void removeJob(EntityRef station, int jobId) {
+        CraftingJobQueueComponent queue = station.getComponent(CraftingJobQueueComponent.class);
+        Iterator<CraftingJobQueueComponent.CraftingJob> iterator = queue.jobs.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().id == jobId) {
+                iterator.remove();
+                station.saveComponent(queue);
+                reservedItems.remove(station);
+                return;
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, Integer> getReservedItems(EntityRef station) {
+        if (station.equals(startingStation)) {
+            // The first job is being started, it takes its own ingredients
+            return Collections.emptyMap();
+        }
+
+        Map<Integer, Integer> result = reservedItems.get(station);
+        if (result == null) {
+            result = Collections.emptyMap();
+            CraftingJobQueueComponent queue = station.getComponent(CraftingJobQueueComponent.class);
+            if (queue != null && !queue.jobs.isEmpty()) {
+                CraftingJobQueueComponent.CraftingJob job = queue.jobs.get(0);
+                try {
+                    CraftingStationRecipe.CraftingStationResult jobResult = resolveResult(station, job);
+                    if (jobResult != null) {
+                        result = new HashMap<>();
+                        jobResult.appendConsumedItems(new CraftingValidationContext(station), job.count, result);
+                    }
+                } catch (InvalidProcessException e) {
+                    // The job is dropped when the queue is processed, it reserves nothing
+                }
+            }
+            reservedItems.put(station, result);
+        }
+        return result;
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class})
+    public void enqueueJob(EnqueueCraftingJobRequest event, EntityRef station) {
+        if (event.getCount() <= 0) {
+            return;
+        }
+        CraftingWorkstationProcess process = getCraftingProcess(station, event.getProcessId());
+        if (process == null) {
+            return;
+        }
+        try {
+            process.resolveResult(new CraftingValidationContext(station), event.getParameters(), event.getCount());
+        } catch (InvalidProcessException e) {
+            return;
+        }
+
+        CraftingJobQueueComponent.CraftingJob job = new CraftingJobQueueComponent.CraftingJob();
+        job.instigator = event.getInstigator();
+        job.processId = event.getProcessId();
+        job.parameters = new ArrayList<>(event.getParameters().size());
+        for (String parameter : event.getParameters()) {
+            job.parameters.add(ItemSlotParameter.getValuesPart(parameter));
+        }
+        job.count = event.getCount();
+
+        CraftingJobQueueComponent queue = station.getComponent(CraftingJobQueueComponent.class);
+        if (queue == null) {
+            queue = new CraftingJobQueueComponent();
+            job.id = queue.nextJobId++;
+            queue.jobs.add(job);
+            station.addComponent(queue);
+        } else {
+            job.id = queue.nextJobId++;
+            queue.jobs.add(job);
+            station.saveComponent(queue);
+        }
+
+        queueChanged(station);
+    }
+
+    private CraftingWorkstationProcess getCraftingProcess(EntityRef station, String processId) {
+        for (CraftingWorkstationProcess process : recipeIndex.getProcesses(station)) {
+            if (process.getId().equals(processId)) {
+                return process;
+            }
+        }
+        return null;
+    }
+
+    private void queueChanged(EntityRef station) {
+        pendingStations.add(station);
+        reservedItems.remove(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void cancelJob(CancelCraftingJobRequest event, EntityRef station) {
+        removeJob(station, event.getJobId());
+        queueChanged(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void craftingStarted(CraftingProcessStarted event, EntityRef station) {
+        if (station.equals(startingStation)) {
+            jobStarted = true;
+        }
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void craftingFinished(CraftingProcessFinished event, EntityRef station) {
+        queueChanged(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void inventoryChanged(InventorySlotChangedEvent event, EntityRef station) {
+        queueChanged(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void stackSizeChanged(InventorySlotStackSizeChangedEvent event, EntityRef station) {
+        queueChanged(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void queueLoaded(OnActivatedComponent event, EntityRef station) {
+        queueChanged(station);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, CraftingJobQueueComponent.class})
+    public void queueUnloaded(BeforeDeactivateComponent event, EntityRef station) {
+        pendingStations.remove(station);
+        reservedItems.remove(station);
+    }
+}
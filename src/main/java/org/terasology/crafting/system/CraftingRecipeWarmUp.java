@@ -0,0 +1,29 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+/**
+ * Creates the lazily registered recipes (crafting processes and in-hand recipes) in the background, a few at a time on each update,
+ * so that neither the game start nor the first use of a station has to create all of them at once.
+ */
+public interface CraftingRecipeWarmUp {
+    /**
+     * Schedules creation of the recipe. Recipes that get created before their turn comes are skipped.
+     *
+     * @param recipe
+     */
+    void scheduleWarmUp(LazyRecipe recipe);
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.registry.Share;
+
+import java.util.LinkedList;
+import java.util.Queue;
+
+@RegisterSystem
+@Share(value = CraftingRecipeWarmUp.class)
+public class CraftingRecipeWarmUpImpl extends BaseComponentSystem implements CraftingRecipeWarmUp, UpdateSubscriberSystem {
+    private static final int RECIPES_PER_UPDATE = 4;
+
+    private Queue<LazyRecipe> pendingRecipes = new LinkedList<>();
+
+    @Override
+    public void scheduleWarmUp(LazyRecipe recipe) {
+        if (!recipe.isRecipeCreated()) {
+            pendingRecipes.add(recipe);
+        }
+    }
+
+    @Override
+    public void update(float delta) {
+        int created = 0;
+        while (created < RECIPES_PER_UPDATE && !pendingRecipes.isEmpty()) {
+            LazyRecipe recipe = pendingRecipes.remove();
+            if (!recipe.isRecipeCreated()) {
+                recipe.createRecipe();
+                created++;
+            }
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        pendingRecipes.clear();
+    }
+}
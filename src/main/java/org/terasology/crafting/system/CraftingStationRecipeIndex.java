@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.List;
+
+/**
+ * Index of the crafting recipes registered for workstations, keyed by the ingredient, tool and fluid types they
+ * require. Processes have to be registered in the WorkstationRegistry before the game begins (i.e. while the systems
+ * initialise), processes registered later are not indexed.
+ */
+public interface CraftingStationRecipeIndex {
+    /**
+     * Returns all the crafting processes of the station's process types, in the order they were registered.
+     *
+     * @param station
+     * @return
+     */
+    List<CraftingWorkstationProcess> getProcesses(EntityRef station);
+
+    /**
+     * Returns the crafting processes of the station's process types that might be craftable with what is currently
+     * in the station's INPUT, TOOL and FLUID_INPUT slots. Processes are returned in the order they were registered.
+     *
+     * @param station
+     * @return
+     */
+    List<CraftingWorkstationProcess> getCandidateProcesses(EntityRef station);
+}
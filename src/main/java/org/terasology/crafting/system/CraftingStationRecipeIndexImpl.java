@@ -0,0 +1,296 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.workstation.WorkstationRecipeRequirements;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.fluid.component.FluidComponent;
+import org.terasology.fluid.component.FluidInventoryComponent;
+import org.terasology.logic.inventory.InventoryUtils;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.workstation.component.WorkstationComponent;
+import org.terasology.workstation.process.WorkstationProcess;
+import org.terasology.workstation.system.WorkstationRegistry;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RegisterSystem
+@Share(value = CraftingStationRecipeIndex.class)
+public class CraftingStationRecipeIndexImpl extends BaseComponentSystem implements CraftingStationRecipeIndex {
+    @In
+    private WorkstationRegistry workstationRegistry;
+    @In
+    private CraftingTypeRegistry craftingTypeRegistry;
+    @In
+    private WorkstationSlotRoleRegistry slotRoleRegistry;
+
+    private Map<String, ProcessTypeIndex> processTypeIndices = new HashMap<>();
+    private boolean registrationFinished;
+
+    @Override
+    public void postBegin() {
+        // Indices built while the systems were initialising might be missing processes registered after them
+        processTypeIndices.clear();
+        registrationFinished = true;
+    }
+
+    @Override
+    public List<CraftingWorkstationProcess> getProcesses(EntityRef station) {
+        WorkstationComponent workstation = station.getComponent(WorkstationComponent.class);
+        if (workstation == null) {
+            return Collections.emptyList();
+        }
+
+        List<CraftingWorkstationProcess> result = new ArrayList<>();
+        for (String processType : workstation.supportedProcessTypes.keySet()) {
+            for (IndexedProcess indexedProcess : getProcessTypeIndex(processType).processes) {
+                result.add(indexedProcess.process);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<CraftingWorkstationProcess> getCandidateProcesses(EntityRef station) {
+        WorkstationComponent workstation = station.getComponent(WorkstationComponent.class);
+        if (workstation == null) {
+            return Collections.emptyList();
+        }
+
+        BitSet ingredientTypes = getIngredientTypes(station);
+        BitSet toolTypes = getToolTypes(station);
+        Set<String> fluidTypes = getFluidTypes(station);
+
+        List<CraftingWorkstationProcess> result = new ArrayList<>();
+        for (String processType : workstation.supportedProcessTypes.keySet()) {
+            getProcessTypeIndex(processType).appendCandidates(ingredientTypes, toolTypes, fluidTypes, result);
+        }
+        return result;
+    }
+
+    private ProcessTypeIndex getProcessTypeIndex(String processType) {
+        ProcessTypeIndex index = processTypeIndices.get(processType);
+        if (index == null) {
+            index = new ProcessTypeIndex(craftingTypeRegistry);
+            for (WorkstationProcess workstationProcess : workstationRegistry.getWorkstationProcesses(Collections.singleton(processType))) {
+                if (workstationProcess instanceof CraftingWorkstationProcess) {
+                    index.addProcess((CraftingWorkstationProcess) workstationProcess);
+                }
+            }
+            if (registrationFinished) {
+                processTypeIndices.put(processType, index);
+            }
+        }
+        return index;
+    }
+
+    private BitSet getIngredientTypes(EntityRef station) {
+        BitSet result = new BitSet();
+        for (int slot : slotRoleRegistry.getSlotRoles(station).getSlots("INPUT")) {
+            int typeId = craftingTypeRegistry.getItemIngredientTypeId(InventoryUtils.getItemAt(station, slot));
+            if (typeId != CraftingTypeRegistry.NO_TYPE) {
+                result.set(typeId);
+            }
+        }
+        return result;
+    }
+
+    private BitSet getToolTypes(EntityRef station) {
+        BitSet result = new BitSet();
+        for (int slot : slotRoleRegistry.getSlotRoles(station).getSlots("TOOL")) {
+            for (int typeId : craftingTypeRegistry.getItemToolTypeIds(InventoryUtils.getItemAt(station, slot))) {
+                result.set(typeId);
+            }
+        }
+        return result;
+    }
+
+    private Set<String> getFluidTypes(EntityRef station) {
+        Set<String> result = new HashSet<>();
+        FluidInventoryComponent fluidInventory = station.getComponent(FluidInventoryComponent.class);
+        if (fluidInventory != null) {
+            for (int slot : slotRoleRegistry.getSlotRoles(station).getSlots("FLUID_INPUT")) {
+                if (slot >= fluidInventory.fluidSlots.size()) {
+                    continue;
+                }
+                FluidComponent fluid = fluidInventory.fluidSlots.get(slot).getComponent(FluidComponent.class);
+                if (fluid != null && fluid.fluidType != null) {
+                    result.add(fluid.fluidType);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class IndexedProcess {
+        private final int order;
+        private final CraftingWorkstationProcess process;
+        private final int[] ingredientTypes;
+        private final int[] toolTypes;
+        private final Set<String> fluidTypes;
+
+        private IndexedProcess(int order, CraftingWorkstationProcess process,
+                               int[] ingredientTypes, int[] toolTypes, Set<String> fluidTypes) {
+            this.order = order;
+            this.process = process;
+            this.ingredientTypes = ingredientTypes;
+            this.toolTypes = toolTypes;
+            this.fluidTypes = fluidTypes;
+        }
+
+        private boolean isKeyed() {
+            return ingredientTypes.length > 0 || toolTypes.length > 0 || !fluidTypes.isEmpty();
+        }
+
+        private boolean isSatisfiedBy(BitSet presentIngredients, BitSet presentTools, Set<String> presentFluids) {
+            return containsAll(presentIngredients, ingredientTypes)
+                    && containsAll(presentTools, toolTypes)
+                    && presentFluids.containsAll(fluidTypes);
+        }
+
+        private static boolean containsAll(BitSet present, int[] types) {
+            for (int type : types) {
+                if (!present.get(type)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Recipes of a single process type. Every recipe is listed under each of the types it requires, recipes that
+     * require no indexable types at all are always considered candidates. Ingredient and tool types are indexed by
+     * their ids from CraftingTypeRegistry.
+     */
+    private static final class ProcessTypeIndex {
+        private final CraftingTypeRegistry craftingTypeRegistry;
+        private List<IndexedProcess> processes = new ArrayList<>();
+        private List<IndexedProcess> unkeyed = new ArrayList<>();
+        private List<List<IndexedProcess>> byIngredient = new ArrayList<>();
+        private List<List<IndexedProcess>> byTool = new ArrayList<>();
+        private Map<String, List<IndexedProcess>> byFluid = new HashMap<>();
+
+        private ProcessTypeIndex(CraftingTypeRegistry craftingTypeRegistry) {
+            this.craftingTypeRegistry = craftingTypeRegistry;
+        }
+
+        private void addProcess(CraftingWorkstationProcess process) {
+            WorkstationRecipeRequirements requirements = process.getRecipeRequirements();
+            IndexedProcess indexedProcess;
+            if (requirements != null) {
+                int[] ingredientTypes = new int[requirements.getRequiredIngredientTypes().size()];
+                int index = 0;
+                for (String ingredientType : requirements.getRequiredIngredientTypes()) {
+                    ingredientTypes[index++] = craftingTypeRegistry.getIngredientTypeId(ingredientType);
+                }
+                int[] toolTypes = new int[requirements.getRequiredToolTypes().size()];
+                index = 0;
+                for (String toolType : requirements.getRequiredToolTypes()) {
+                    toolTypes[index++] = craftingTypeRegistry.getToolTypeId(toolType);
+                }
+                indexedProcess = new IndexedProcess(processes.size(), process, ingredientTypes, toolTypes,
+                        requirements.getRequiredFluidTypes());
+            } else {
+                indexedProcess = new IndexedProcess(processes.size(), process, new int[0], new int[0], Collections.<String>emptySet());
+            }
+            processes.add(indexedProcess);
+
+            if (indexedProcess.isKeyed()) {
+                addToIndex(byIngredient, indexedProcess.ingredientTypes, indexedProcess);
+                addToIndex(byTool, indexedProcess.toolTypes, indexedProcess);
+                addToIndex(byFluid, indexedProcess.fluidTypes, indexedProcess);
+            } else {
+                unkeyed.add(indexedProcess);
+            }
+        }
+
+        private void addToIndex(List<List<IndexedProcess>> index, int[] types, IndexedProcess indexedProcess) {
+            for (int type : types) {
+                while (index.size() <= type) {
+                    index.add(null);
+                }
+                List<IndexedProcess> list = index.get(type);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    index.set(type, list);
+                }
+                list.add(indexedProcess);
+            }
+        }
+
+        private void addToIndex(Map<String, List<IndexedProcess>> index, Collection<String> types, IndexedProcess indexedProcess) {
+            for (String type : types) {
+                List<IndexedProcess> list = index.get(type);
+                if (list == null) {
+                    list = new ArrayList<>();
+                    index.put(type, list);
+                }
+                list.add(indexedProcess);
+            }
+        }
+
+        private void appendCandidates(BitSet presentIngredients, BitSet presentTools, Set<String> presentFluids,
+                                      List<CraftingWorkstationProcess> result) {
+            boolean[] candidate = new boolean[processes.size()];
+            for (IndexedProcess indexedProcess : unkeyed) {
+                candidate[indexedProcess.order] = true;
+            }
+            markCandidates(byIngredient, presentIngredients, presentIngredients, presentTools, presentFluids, candidate);
+            markCandidates(byTool, presentTools, presentIngredients, presentTools, presentFluids, candidate);
+            for (String presentFluid : presentFluids) {
+                markCandidates(byFluid.get(presentFluid), presentIngredients, presentTools, presentFluids, candidate);
+            }
+
+            for (int i = 0; i < candidate.length; i++) {
+                if (candidate[i]) {
+                    result.add(processes.get(i).process);
+                }
+            }
+        }
+
+        private void markCandidates(List<List<IndexedProcess>> index, BitSet presentKeys,
+                                    BitSet presentIngredients, BitSet presentTools, Set<String> presentFluids,
+                                    boolean[] candidate) {
+            for (int presentKey = presentKeys.nextSetBit(0); presentKey >= 0 && presentKey < index.size(); presentKey = presentKeys.nextSetBit(presentKey + 1)) {
+                markCandidates(index.get(presentKey), presentIngredients, presentTools, presentFluids, candidate);
+            }
+        }
+
+        private void markCandidates(List<IndexedProcess> indexedProcesses,
+                                    BitSet presentIngredients, BitSet presentTools, Set<String> presentFluids,
+                                    boolean[] candidate) {
+            if (indexedProcesses != null) {
+                for (IndexedProcess indexedProcess : indexedProcesses) {
+                    if (!candidate[indexedProcess.order] && indexedProcess.isSatisfiedBy(presentIngredients, presentTools, presentFluids)) {
+                        candidate[indexedProcess.order] = true;
+                    }
+                }
+            }
+        }
+    }
+}
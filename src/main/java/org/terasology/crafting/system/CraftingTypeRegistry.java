@@ -0,0 +1,82 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Assigns dense int ids to the crafting station ingredient types (CraftingStationIngredientComponent) and tool types
+ * (CraftingStationToolComponent), so that types can be compared and indexed as ints. Ids are only valid for the
+ * current game.
+ */
+public interface CraftingTypeRegistry {
+    int NO_TYPE = -1;
+
+    /**
+     * Returns the id of the ingredient type, assigning a new one if the type was not seen yet.
+     *
+     * @param ingredientType
+     * @return Id of the type, or NO_TYPE if the type is null.
+     */
+    int getIngredientTypeId(String ingredientType);
+
+    /**
+     * Returns the id of the tool type, assigning a new one if the type was not seen yet.
+     *
+     * @param toolType
+     * @return Id of the type, or NO_TYPE if the type is null.
+     */
+    int getToolTypeId(String toolType);
+
+    /**
+     * Returns the id of the ingredient type, without assigning one to types that were not seen yet. Should be used
+     * everywhere but registering the types of recipes.
+     *
+     * @param ingredientType
+     * @return Id of the type, or NO_TYPE if the type is null or unknown.
+     */
+    int findIngredientTypeId(String ingredientType);
+
+    /**
+     * Returns the id of the tool type, without assigning one to types that were not seen yet. Should be used
+     * everywhere but registering the types of recipes.
+     *
+     * @param toolType
+     * @return Id of the type, or NO_TYPE if the type is null or unknown.
+     */
+    int findToolTypeId(String toolType);
+
+    /**
+     * Returns the id of the ingredient type of the item. The id is looked up once per item prefab.
+     *
+     * @param item
+     * @return Id of the type, or NO_TYPE if the item is not an ingredient or its type is unknown.
+     */
+    int getItemIngredientTypeId(EntityRef item);
+
+    /**
+     * Returns the ids of the tool types of the item, unknown types are left out. The ids are looked up once per item
+     * prefab, the returned array must not be modified.
+     *
+     * @param item
+     * @return
+     */
+    int[] getItemToolTypeIds(EntityRef item);
+
+    String getIngredientType(int ingredientTypeId);
+
+    String getToolType(int toolTypeId);
+}
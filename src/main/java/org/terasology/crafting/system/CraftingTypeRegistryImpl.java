@@ -0,0 +1,205 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.component.CraftingStationIngredientComponent;
+import org.terasology.crafting.component.CraftingStationToolComponent;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = CraftingTypeRegistry.class)
+public class CraftingTypeRegistryImpl extends BaseComponentSystem implements CraftingTypeRegistry {
+    private static final int[] NO_TYPES = new int[0];
+
+    @In
+    private PrefabManager prefabManager;
+
+    private TypeIds ingredientTypes = new TypeIds();
+    private TypeIds toolTypes = new TypeIds();
+    private Map<Prefab, ItemTypeIds> itemTypeIds = new HashMap<>();
+
+    @Override
+    public void initialise() {
+        // Assign the ids of all the types known from prefabs up front, types used only by recipes get theirs on demand
+        for (Prefab prefab : prefabManager.listPrefabs(CraftingStationIngredientComponent.class)) {
+            getIngredientTypeId(prefab.getComponent(CraftingStationIngredientComponent.class).type);
+        }
+        for (Prefab prefab : prefabManager.listPrefabs(CraftingStationToolComponent.class)) {
+            List<String> types = prefab.getComponent(CraftingStationToolComponent.class).type;
+            if (types != null) {
+                for (String type : types) {
+                    getToolTypeId(type);
+                }
+            }
+        }
+    }
+
+    @Override
+    public int getIngredientTypeId(String ingredientType) {
+        return assignId(ingredientTypes, ingredientType);
+    }
+
+    @Override
+    public int getToolTypeId(String toolType) {
+        return assignId(toolTypes, toolType);
+    }
+
+    private int assignId(TypeIds typeIds, String type) {
+        int id = typeIds.findId(type);
+        if (id == NO_TYPE && type != null) {
+            id = typeIds.addType(type);
+            // Items of the type looked up before were given NO_TYPE
+            itemTypeIds.clear();
+        }
+        return id;
+    }
+
+    @Override
+    public int findIngredientTypeId(String ingredientType) {
+        return ingredientTypes.findId(ingredientType);
+    }
+
+    @Override
+    public int findToolTypeId(String toolType) {
+        return toolTypes.findId(toolType);
+    }
+
+    @Override
+    public int getItemIngredientTypeId(EntityRef item) {
+        CraftingStationIngredientComponent ingredient = item.getComponent(CraftingStationIngredientComponent.class);
+        if (ingredient == null) {
+            return NO_TYPE;
+        }
+        ItemTypeIds ids = getItemTypeIds(item);
+        // Items share the type string of their prefab unless it was changed for the item
+        if (ids != null && ids.ingredientType == ingredient.type) {
+            return ids.ingredientTypeId;
+        }
+        return findIngredientTypeId(ingredient.type);
+    }
+
+    @Override
+    public int[] getItemToolTypeIds(EntityRef item) {
+        CraftingStationToolComponent tool = item.getComponent(CraftingStationToolComponent.class);
+        if (tool == null) {
+            return NO_TYPES;
+        }
+        ItemTypeIds ids = getItemTypeIds(item);
+        if (ids != null && ids.toolTypes == tool.type) {
+            return ids.toolTypeIds;
+        }
+        return findToolTypeIds(tool.type);
+    }
+
+    private ItemTypeIds getItemTypeIds(EntityRef item) {
+        Prefab prefab = item.getParentPrefab();
+        if (prefab == null) {
+            return null;
+        }
+        ItemTypeIds ids = itemTypeIds.get(prefab);
+        if (ids == null) {
+            ids = new ItemTypeIds();
+            CraftingStationIngredientComponent ingredient = prefab.getComponent(CraftingStationIngredientComponent.class);
+            if (ingredient != null) {
+                ids.ingredientType = ingredient.type;
+                ids.ingredientTypeId = findIngredientTypeId(ingredient.type);
+            }
+            CraftingStationToolComponent tool = prefab.getComponent(CraftingStationToolComponent.class);
+            if (tool != null) {
+                ids.toolTypes = tool.type;
+                ids.toolTypeIds = findToolTypeIds(tool.type);
+            }
+            itemTypeIds.put(prefab, ids);
+        }
+        return ids;
+    }
+
+    private int[] findToolTypeIds(List<String> types) {
+        if (types == null || types.isEmpty()) {
+            return NO_TYPES;
+        }
+        int[] result = new int[types.size()];
+        int count = 0;
+        for (String type : types) {
+            int id = findToolTypeId(type);
+            if (id != NO_TYPE) {
+                result[count++] = id;
+            }
+        }
+        return count == result.length ? result : Arrays.copyOf(result, count);
+    }
+
+    @Override
+    public String getIngredientType(int ingredientTypeId) {
+        return ingredientTypes.getType(ingredientTypeId);
+    }
+
+    @Override
+    public String getToolType(int toolTypeId) {
+        return toolTypes.getType(toolTypeId);
+    }
+
+    @Override
+    public void shutdown() {
+        itemTypeIds.clear();
+    }
+
+    /**
+     * Ids of the types of the items of a prefab, together with the type strings they were looked up for.
+     */
+    private static final class ItemTypeIds {
+        private String ingredientType;
+        private int ingredientTypeId = NO_TYPE;
+        private List<String> toolTypes;
+        private int[] toolTypeIds = NO_TYPES;
+    }
+
+    private static final class TypeIds {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> types = new ArrayList<>();
+
+        private int findId(String type) {
+            if (type == null) {
+                return NO_TYPE;
+            }
+            Integer id = ids.get(type);
+            return id != null ? id : NO_TYPE;
+        }
+
+        private int addType(String type) {
+            int id = types.size();
+            ids.put(type, id);
+            types.add(type);
+            return id;
+        }
+
+        private String getType(int id) {
+            return id >= 0 && id < types.size() ? types.get(id) : null;
+        }
+    }
+}
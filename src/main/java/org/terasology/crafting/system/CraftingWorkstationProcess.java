@@ -15,25 +15,31 @@
  */
 package org.terasology.crafting.system;
 
+import com.google.common.base.Supplier;
+import org.terasology.crafting.component.AutomaticCraftingComponent;
 import org.terasology.crafting.component.CraftingProcessComponent;
+import org.terasology.crafting.event.CraftingProcessFinished;
+import org.terasology.crafting.event.CraftingProcessStarted;
 import org.terasology.crafting.event.CraftingWorkstationProcessRequest;
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
 import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
+import org.terasology.crafting.system.recipe.workstation.WorkstationRecipeRequirements;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.inventory.InventoryManager;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.workstation.event.WorkstationProcessRequest;
 import org.terasology.workstation.process.InvalidProcessException;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.WorkstationProcess;
 import org.terasology.workstation.process.fluid.ValidateFluidInventoryItem;
 import org.terasology.workstation.process.inventory.ValidateInventoryItem;
 
 import java.util.List;
 
-public class CraftingWorkstationProcess implements WorkstationProcess, ValidateInventoryItem, ValidateFluidInventoryItem {
+public class CraftingWorkstationProcess implements WorkstationProcess, ValidateInventoryItem, ValidateFluidInventoryItem, LazyRecipe {
     private String processType;
     private String craftingRecipeId;
     private CraftingStationRecipe recipe;
+    private Supplier<? extends CraftingStationRecipe> recipeSupplier;
 
     public CraftingWorkstationProcess(String processType, String craftingRecipeId, CraftingStationRecipe recipe) {
         this.processType = processType;
@@ -41,32 +47,49 @@ public class CraftingWorkstationProcess implements WorkstationProcess, ValidateI
         this.recipe = recipe;
     }
 
+    /**
+     * Creates a process, which creates its recipe (and resolves the assets the recipe uses) only when the recipe is
+     * first needed, or when it is warmed up by CraftingRecipeWarmUp.
+     *
+     * @param processType
+     * @param craftingRecipeId
+     * @param recipeSupplier
+     */
+    public CraftingWorkstationProcess(String processType, String craftingRecipeId, Supplier<? extends CraftingStationRecipe> recipeSupplier) {
+        this.processType = processType;
+        this.craftingRecipeId = craftingRecipeId;
+        this.recipeSupplier = recipeSupplier;
+    }
+
     @Override
     public boolean isResponsibleForSlot(EntityRef workstation, int slotNo) {
-        return WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT").contains(slotNo)
-                || WorkstationInventoryUtils.getAssignedSlots(workstation, "TOOL").contains(slotNo)
-                || WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT").contains(slotNo);
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.INPUT | WorkstationSlotRoles.TOOL | WorkstationSlotRoles.OUTPUT);
     }
 
     @Override
     public boolean isValid(EntityRef workstation, int slotNo, EntityRef instigator, EntityRef item) {
-        if (WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT").contains(slotNo)) {
-            return recipe.hasAsComponent(item);
+        WorkstationSlotRoles slotRoles = getSlotRoles(workstation);
+        if (slotRoles.hasAnyRole(slotNo, WorkstationSlotRoles.INPUT)) {
+            return getCraftingWorkstationRecipe().hasAsComponent(item);
         }
-        if (WorkstationInventoryUtils.getAssignedSlots(workstation, "TOOL").contains(slotNo)) {
-            return recipe.hasAsTool(item);
+        if (slotRoles.hasAnyRole(slotNo, WorkstationSlotRoles.TOOL)) {
+            return getCraftingWorkstationRecipe().hasAsTool(item);
         }
         return instigator == workstation;
     }
 
     @Override
     public boolean isResponsibleForFluidSlot(EntityRef workstation, int slotNo) {
-        return WorkstationInventoryUtils.getAssignedSlots(workstation, "FLUID_INPUT").contains(slotNo);
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.FLUID_INPUT);
+    }
+
+    private WorkstationSlotRoles getSlotRoles(EntityRef workstation) {
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(workstation);
     }
 
     @Override
     public boolean isValidFluid(EntityRef workstation, int slotNo, EntityRef instigator, String fluidType) {
-        return recipe.hasFluidAsComponent(fluidType);
+        return getCraftingWorkstationRecipe().hasFluidAsComponent(fluidType);
     }
 
     @Override
@@ -80,9 +103,93 @@ public class CraftingWorkstationProcess implements WorkstationProcess, ValidateI
     }
 
     public CraftingStationRecipe getCraftingWorkstationRecipe() {
+        if (recipe == null) {
+            recipe = recipeSupplier.get();
+            recipeSupplier = null;
+        }
         return recipe;
     }
 
+    @Override
+    public boolean isRecipeCreated() {
+        return recipe != null;
+    }
+
+    @Override
+    public void createRecipe() {
+        getCraftingWorkstationRecipe();
+    }
+
+    /**
+     * Returns the types the recipe requires in the station. If the recipe was not created yet and its supplier declares
+     * them, the recipe is not created.
+     *
+     * @return requirements of the recipe, or null if the recipe does not declare them.
+     */
+    public WorkstationRecipeRequirements getRecipeRequirements() {
+        if (recipe == null && recipeSupplier instanceof WorkstationRecipeRequirements) {
+            return (WorkstationRecipeRequirements) recipeSupplier;
+        }
+        CraftingStationRecipe craftingRecipe = getCraftingWorkstationRecipe();
+        if (craftingRecipe instanceof WorkstationRecipeRequirements) {
+            return (WorkstationRecipeRequirements) craftingRecipe;
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the station can craft the result of the recipe described by the parameters. The parameters are
+     * parsed as far as the check gets.
+     *
+     * @param workstation
+     * @param parameters
+     * @param count
+     * @return true if the station can craft the result now, false if it can't yet.
+     * @throws InvalidProcessException if the parameters don't describe a result of the recipe in the station.
+     */
+    public boolean canCraft(EntityRef workstation, List<String> parameters, int count) throws InvalidProcessException {
+        final CraftingStationRecipe.CraftingStationResult result = getResultByParameters(workstation, parameters);
+        return isValidForCrafting(new CraftingValidationContext(workstation), result, count);
+    }
+
+    /**
+     * Finds the result crafting the same as the parameters, with the ingredients and tools taken from wherever they are
+     * in the station now (see CraftingStationRecipe.resolveResult).
+     *
+     * @param context
+     * @param parameters
+     * @param count
+     * @return the result, or null if the station does not hold the ingredients and tools now.
+     * @throws InvalidProcessException if the parameters don't describe a result of the recipe.
+     */
+    public CraftingStationRecipe.CraftingStationResult resolveResult(CraftingValidationContext context, List<String> parameters, int count) throws InvalidProcessException {
+        if (parameters == null) {
+            throw new InvalidProcessException();
+        }
+        try {
+            return getCraftingWorkstationRecipe().resolveResult(context, parameters, count);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidProcessException();
+        }
+    }
+
+    private CraftingStationRecipe.CraftingStationResult getResultByParameters(EntityRef workstation, List<String> parameters) throws InvalidProcessException {
+        if (parameters == null) {
+            throw new InvalidProcessException();
+        }
+
+        final CraftingStationRecipe.CraftingStationResult result;
+        try {
+            result = getCraftingWorkstationRecipe().getResultByParameters(workstation, parameters);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidProcessException();
+        }
+        if (result == null) {
+            throw new InvalidProcessException();
+        }
+        return result;
+    }
+
     @Override
     public long startProcessingManual(EntityRef instigator, EntityRef workstation, WorkstationProcessRequest request, EntityRef processEntity) throws InvalidProcessException {
         if (!(request instanceof CraftingWorkstationProcessRequest)) {
@@ -90,40 +197,94 @@ public class CraftingWorkstationProcess implements WorkstationProcess, ValidateI
         }
 
         final CraftingWorkstationProcessRequest craftingRequest = (CraftingWorkstationProcessRequest) request;
-        final List<String> parameters = craftingRequest.getParameters();
-        final CraftingStationRecipe.CraftingStationResult result = recipe.getResultByParameters(workstation, parameters);
-        if (result == null) {
+        final CraftingStationRecipe.CraftingStationResult result = getResultByParameters(workstation, craftingRequest.getParameters());
+
+        final int count = craftingRequest.getCount();
+        if (!isValidForCrafting(createValidationContext(workstation), result, count)) {
             throw new InvalidProcessException();
         }
+        return startCrafting(workstation, result, count, processEntity);
+    }
 
-        final int count = craftingRequest.getCount();
-        final boolean success = result.startCrafting(workstation, count);
+    @Override
+    public long startProcessingAutomatic(EntityRef workstation, EntityRef processEntity) throws InvalidProcessException {
+        AutomaticCraftingComponent automaticCrafting = workstation.getComponent(AutomaticCraftingComponent.class);
+        if (automaticCrafting == null || !craftingRecipeId.equals(automaticCrafting.processId)) {
+            throw new InvalidProcessException();
+        }
+
+        if (automaticCrafting.parameters != null) {
+            final CraftingStationRecipe.CraftingStationResult result = getResultByParameters(workstation, automaticCrafting.parameters);
+            if (!isValidForCrafting(createValidationContext(workstation), result, 1)) {
+                throw new InvalidProcessException();
+            }
+            return startCrafting(workstation, result, 1, processEntity);
+        }
+
+        CraftingValidationContext context = createValidationContext(workstation);
+        List<? extends CraftingStationRecipe.CraftingStationResult> results = getCraftingWorkstationRecipe().getMatchingRecipeResultsForDisplay(context);
+        if (results != null) {
+            for (CraftingStationRecipe.CraftingStationResult result : results) {
+                if (result.isValidForCrafting(context, 1)) {
+                    return startCrafting(workstation, result, 1, processEntity);
+                }
+            }
+        }
+        throw new InvalidProcessException();
+    }
+
+    /**
+     * Creates the context the crafting started by this process is validated in, in which the ingredients reserved for
+     * the queued crafting jobs of the station are not available.
+     */
+    private CraftingValidationContext createValidationContext(EntityRef workstation) {
+        CraftingIngredientReservations reservations = CoreRegistry.get(CraftingIngredientReservations.class);
+        if (reservations == null) {
+            return new CraftingValidationContext(workstation);
+        }
+        return new CraftingValidationContext(workstation, reservations.getReservedItems(workstation));
+    }
+
+    private boolean isValidForCrafting(CraftingValidationContext context, CraftingStationRecipe.CraftingStationResult result, int count) throws InvalidProcessException {
+        try {
+            return result.isValidForCrafting(context, count);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidProcessException();
+        }
+    }
+
+    private long startCrafting(EntityRef workstation, CraftingStationRecipe.CraftingStationResult result, int count, EntityRef processEntity) throws InvalidProcessException {
+        final boolean success;
+        try {
+            success = result.startCrafting(workstation, count);
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new InvalidProcessException();
+        }
         if (!success) {
             throw new InvalidProcessException();
         }
 
+        final List<String> parameters = result.getResultParameters();
         CraftingProcessComponent craftingProcess = new CraftingProcessComponent();
         craftingProcess.parameters = parameters;
         craftingProcess.count = count;
         processEntity.addComponent(craftingProcess);
 
-        return result.getProcessDuration();
-    }
+        workstation.send(new CraftingProcessStarted(craftingRecipeId, parameters, count));
 
-    @Override
-    public long startProcessingAutomatic(EntityRef workstation, EntityRef processEntity) throws InvalidProcessException {
-        throw new InvalidProcessException();
+        return result.getProcessDuration();
     }
 
     @Override
     public void finishProcessing(EntityRef instigator, EntityRef workstation, EntityRef processEntity) {
         CraftingProcessComponent craftingProcess = processEntity.getComponent(CraftingProcessComponent.class);
 
-        final CraftingStationRecipe.CraftingStationResult result = recipe.getResultByParameters(workstation, craftingProcess.parameters);
+        final CraftingStationRecipe.CraftingStationResult result = getCraftingWorkstationRecipe().getResultByParameters(workstation, craftingProcess.parameters);
         EntityRef resultItem = result.finishCrafting(workstation, craftingProcess.count);
-        if (CoreRegistry.get(InventoryManager.class).giveItem(workstation, workstation, resultItem, WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT"))) {
-            return;
+        if (!CoreRegistry.get(InventoryManager.class).giveItem(workstation, workstation, resultItem, getSlotRoles(workstation).getSlots("OUTPUT"))) {
+            resultItem.destroy();
         }
-        resultItem.destroy();
+
+        workstation.send(new CraftingProcessFinished(craftingRecipeId, craftingProcess.parameters, craftingProcess.count));
     }
 }
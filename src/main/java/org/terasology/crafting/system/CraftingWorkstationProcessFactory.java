@@ -15,18 +15,26 @@
  */
 package org.terasology.crafting.system;
 
+import com.google.common.base.Supplier;
 import org.terasology.crafting.component.CraftingStationRecipeComponent;
 import org.terasology.crafting.system.recipe.render.result.BlockRecipeResultFactory;
 import org.terasology.crafting.system.recipe.render.result.ItemRecipeResultFactory;
+import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
 import org.terasology.crafting.system.recipe.workstation.DefaultWorkstationRecipe;
+import org.terasology.crafting.system.recipe.workstation.WorkstationRecipeRequirements;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabManager;
+import org.terasology.heat.HeatThresholdRegistry;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.workstation.component.ProcessDefinitionComponent;
 import org.terasology.workstation.process.WorkstationProcess;
 import org.terasology.workstation.system.WorkstationProcessFactory;
 import org.terasology.world.block.BlockManager;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
@@ -37,54 +45,101 @@ public class CraftingWorkstationProcessFactory implements WorkstationProcessFact
 
         CraftingStationRecipeComponent recipe = prefab.getComponent(CraftingStationRecipeComponent.class);
 
-        DefaultWorkstationRecipe workstationRecipe = new DefaultWorkstationRecipe();
-        if (recipe.recipeComponents != null) {
-            for (String recipeComponent : recipe.recipeComponents) {
-                String[] split = recipeComponent.split("\\*", 2);
+        if (recipe.requiredTemperature > 0) {
+            CoreRegistry.get(HeatThresholdRegistry.class).addHeatThreshold(process.processType, recipe.requiredTemperature);
+        }
+
+        CraftingWorkstationProcess workstationProcess = new CraftingWorkstationProcess(process.processType, recipe.recipeId,
+                new PrefabRecipeSupplier(recipe));
+        CoreRegistry.get(CraftingRecipeWarmUp.class).scheduleWarmUp(workstationProcess);
+        return workstationProcess;
+    }
+
+    /**
+     * Creates the recipe defined in a prefab, resolving the result block or prefab only when the recipe is created.
+     */
+    private static final class PrefabRecipeSupplier implements Supplier<CraftingStationRecipe>, WorkstationRecipeRequirements {
+        private CraftingStationRecipeComponent recipe;
+
+        private PrefabRecipeSupplier(CraftingStationRecipeComponent recipe) {
+            this.recipe = recipe;
+        }
+
+        @Override
+        public CraftingStationRecipe get() {
+            DefaultWorkstationRecipe workstationRecipe = new DefaultWorkstationRecipe();
+            if (recipe.recipeComponents != null) {
+                for (String recipeComponent : recipe.recipeComponents) {
+                    String[] split = recipeComponent.split("\\*", 2);
+                    int count = Integer.parseInt(split[0]);
+                    String type = split[1];
+                    workstationRecipe.addIngredient(type, count);
+                }
+            }
+            if (recipe.recipeTools != null) {
+                for (String recipeTool : recipe.recipeTools) {
+                    String[] split = recipeTool.split("\\*", 2);
+                    int count = Integer.parseInt(split[0]);
+                    String type = split[1];
+                    workstationRecipe.addRequiredTool(type, count);
+                }
+            }
+            if (recipe.recipeFluids != null) {
+                for (String recipeFluid : recipe.recipeFluids) {
+                    String[] split = recipeFluid.split("\\*", 2);
+                    float volume = Float.parseFloat(split[0]);
+                    String type = split[1];
+                    workstationRecipe.addFluid(type, volume);
+                }
+            }
+
+            if (recipe.blockResult != null) {
+                final BlockManager blockManager = CoreRegistry.get(BlockManager.class);
+                String[] split = recipe.blockResult.split("\\*", 2);
                 int count = Integer.parseInt(split[0]);
-                String type = split[1];
-                workstationRecipe.addIngredient(type, count);
+                String block = split[1];
+                workstationRecipe.setResultFactory(new BlockRecipeResultFactory(blockManager.getBlockFamily(block).getArchetypeBlock(), count));
             }
-        }
-        if (recipe.recipeTools != null) {
-            for (String recipeTool : recipe.recipeTools) {
-                String[] split = recipeTool.split("\\*", 2);
+            if (recipe.itemResult != null) {
+                final PrefabManager prefabManager = CoreRegistry.get(PrefabManager.class);
+                String[] split = recipe.itemResult.split("\\*", 2);
                 int count = Integer.parseInt(split[0]);
-                String type = split[1];
-                workstationRecipe.addRequiredTool(type, count);
+                String item = split[1];
+                workstationRecipe.setResultFactory(new ItemRecipeResultFactory(prefabManager.getPrefab(item), count));
             }
-        }
-        if (recipe.recipeFluids != null) {
-            for (String recipeFluid : recipe.recipeFluids) {
-                String[] split = recipeFluid.split("\\*", 2);
-                float volume = Float.parseFloat(split[0]);
-                String type = split[1];
-                workstationRecipe.addFluid(type, volume);
+
+            if (recipe.processingDuration != 0) {
+                workstationRecipe.setProcessingDuration(recipe.processingDuration);
+            }
+            if (recipe.requiredTemperature > 0) {
+                workstationRecipe.setRequiredHeat(recipe.requiredTemperature);
             }
+            return workstationRecipe;
         }
 
-        if (recipe.blockResult != null) {
-            final BlockManager blockManager = CoreRegistry.get(BlockManager.class);
-            String[] split = recipe.blockResult.split("\\*", 2);
-            int count = Integer.parseInt(split[0]);
-            String block = split[1];
-            workstationRecipe.setResultFactory(new BlockRecipeResultFactory(blockManager.getBlockFamily(block).getArchetypeBlock(), count));
-        }
-        if (recipe.itemResult != null) {
-            final PrefabManager prefabManager = CoreRegistry.get(PrefabManager.class);
-            String[] split = recipe.itemResult.split("\\*", 2);
-            int count = Integer.parseInt(split[0]);
-            String item = split[1];
-            workstationRecipe.setResultFactory(new ItemRecipeResultFactory(prefabManager.getPrefab(item), count));
+        @Override
+        public Set<String> getRequiredIngredientTypes() {
+            return getTypes(recipe.recipeComponents);
         }
 
-        if (recipe.processingDuration != 0) {
-            workstationRecipe.setProcessingDuration(recipe.processingDuration);
+        @Override
+        public Set<String> getRequiredToolTypes() {
+            return getTypes(recipe.recipeTools);
         }
-        if (recipe.requiredTemperature > 0) {
-            workstationRecipe.setRequiredHeat(recipe.requiredTemperature);
+
+        @Override
+        public Set<String> getRequiredFluidTypes() {
+            return getTypes(recipe.recipeFluids);
         }
 
-        return new CraftingWorkstationProcess(process.processType, recipe.recipeId, workstationRecipe);
+        private Set<String> getTypes(List<String> definitions) {
+            Set<String> result = new HashSet<>();
+            if (definitions != null) {
+                for (String definition : definitions) {
+                    result.add(definition.split("\\*", 2)[1]);
+                }
+            }
+            return result;
+        }
     }
 }
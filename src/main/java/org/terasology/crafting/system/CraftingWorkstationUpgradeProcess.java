@@ -20,9 +20,9 @@ import org.terasology.crafting.component.CraftingStationUpgradeRecipeComponent;
 import org.terasology.crafting.event.CraftingStationUpgraded;
 import org.terasology.crafting.system.recipe.workstation.UpgradeRecipe;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.workstation.event.WorkstationProcessRequest;
 import org.terasology.workstation.process.InvalidProcessException;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.WorkstationProcess;
 import org.terasology.workstation.process.inventory.ValidateInventoryItem;
 
@@ -54,7 +54,7 @@ public class CraftingWorkstationUpgradeProcess implements WorkstationProcess, Va
 
     @Override
     public boolean isResponsibleForSlot(EntityRef workstation, int slotNo) {
-        return WorkstationInventoryUtils.getAssignedSlots(workstation, "UPGRADE").contains(slotNo);
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.UPGRADE);
     }
 
     @Override
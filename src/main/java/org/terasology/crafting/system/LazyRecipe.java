@@ -0,0 +1,29 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+/**
+ * A recipe, or a holder of one, that resolves the assets it uses (i.e. result blocks and prefabs) only when they are
+ * first needed, or when it is warmed up by CraftingRecipeWarmUp.
+ */
+public interface LazyRecipe {
+    boolean isRecipeCreated();
+
+    /**
+     * Creates the recipe and resolves its assets now, if it was not done yet.
+     */
+    void createRecipe();
+}
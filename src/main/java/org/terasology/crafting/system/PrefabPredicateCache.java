@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
+import org.terasology.entitySystem.prefab.Prefab;
+
+/**
+ * Remembers, for each item prefab, which of the prefab classified predicates it satisfies.
+ */
+public interface PrefabPredicateCache {
+    /**
+     * Checks if items created from the prefab satisfy the predicate. The predicate is evaluated against the prefab
+     * only the first time.
+     *
+     * @param prefab
+     * @param predicate
+     * @return
+     */
+    boolean isSatisfied(Prefab prefab, PrefabClassifiedPredicate predicate);
+}
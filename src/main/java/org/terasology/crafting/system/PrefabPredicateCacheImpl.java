@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.Share;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = PrefabPredicateCache.class)
+public class PrefabPredicateCacheImpl extends BaseComponentSystem implements PrefabPredicateCache {
+    private Map<PrefabClassifiedPredicate, Integer> predicateIndices = new HashMap<>();
+    private Map<Prefab, PrefabClassification> classifications = new HashMap<>();
+
+    @Override
+    public boolean isSatisfied(Prefab prefab, PrefabClassifiedPredicate predicate) {
+        Integer index = predicateIndices.get(predicate);
+        if (index == null) {
+            index = predicateIndices.size();
+            predicateIndices.put(predicate, index);
+        }
+
+        PrefabClassification classification = classifications.get(prefab);
+        if (classification == null) {
+            classification = new PrefabClassification();
+            classifications.put(prefab, classification);
+        }
+
+        if (!classification.evaluated.get(index)) {
+            classification.evaluated.set(index);
+            if (predicate.applyToPrefab(prefab)) {
+                classification.satisfied.set(index);
+            }
+        }
+        return classification.satisfied.get(index);
+    }
+
+    @Override
+    public void shutdown() {
+        predicateIndices.clear();
+        classifications.clear();
+    }
+
+    private static final class PrefabClassification {
+        private final BitSet evaluated = new BitSet();
+        private final BitSet satisfied = new BitSet();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Compiles the results of processed items (HeatProcessedComponent and MillProcessedComponent) once and shares them
+ * between all the process parts.
+ */
+public interface ProcessResultRegistry {
+    /**
+     * Returns the compiled result, compiling it if it was not compiled yet.
+     *
+     * @param result Result in the "count*uri" format, where the "count*" part is optional.
+     * @return
+     */
+    ProcessResultSpec getResultSpec(String result);
+
+    /**
+     * Creates the result item, or returns EntityRef.NULL if the result could not be resolved.
+     *
+     * @param result Result in the "count*uri" format, where the "count*" part is optional.
+     * @return
+     */
+    EntityRef createResultItem(String result);
+
+    /**
+     * Compiles the results of all the processed item prefabs, so that no compilation happens during processing. Called
+     * when the game begins, can be called again after new prefabs are registered.
+     */
+    void warmUp();
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.heat.component.HeatProcessedComponent;
+import org.terasology.logic.inventory.ItemComponent;
+import org.terasology.mill.component.MillProcessedComponent;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.world.block.BlockManager;
+import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.block.items.BlockItemFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = ProcessResultRegistry.class)
+public class ProcessResultRegistryImpl extends BaseComponentSystem implements ProcessResultRegistry {
+    @In
+    private PrefabManager prefabManager;
+    @In
+    private BlockManager blockManager;
+    @In
+    private EntityManager entityManager;
+    @In
+    private ResultItemDescriptorRegistry resultItemDescriptorRegistry;
+
+    private BlockItemFactory blockItemFactory;
+    private Map<String, ProcessResultSpec> resultSpecs = new HashMap<>();
+
+    @Override
+    public void initialise() {
+        blockItemFactory = new BlockItemFactory(entityManager);
+    }
+
+    @Override
+    public void postBegin() {
+        warmUp();
+    }
+
+    @Override
+    public void shutdown() {
+        resultSpecs.clear();
+    }
+
+    @Override
+    public void warmUp() {
+        for (Prefab prefab : prefabManager.listPrefabs(HeatProcessedComponent.class)) {
+            HeatProcessedComponent processed = prefab.getComponent(HeatProcessedComponent.class);
+            compileIfPresent(processed.blockResult);
+            compileIfPresent(processed.itemResult);
+        }
+        for (Prefab prefab : prefabManager.listPrefabs(MillProcessedComponent.class)) {
+            MillProcessedComponent processed = prefab.getComponent(MillProcessedComponent.class);
+            compileIfPresent(processed.blockResult);
+            compileIfPresent(processed.itemResult);
+        }
+    }
+
+    private void compileIfPresent(String result) {
+        if (result != null) {
+            getResultSpec(result);
+        }
+    }
+
+    @Override
+    public ProcessResultSpec getResultSpec(String result) {
+        ProcessResultSpec resultSpec = resultSpecs.get(result);
+        if (resultSpec == null) {
+            resultSpec = compile(result);
+            resultSpecs.put(result, resultSpec);
+        }
+        return resultSpec;
+    }
+
+    private ProcessResultSpec compile(String result) {
+        int count = 1;
+        String uri = result;
+        int starIndex = result.indexOf("*");
+        if (starIndex > -1) {
+            count = Integer.parseInt(result.substring(0, starIndex));
+            uri = result.substring(starIndex + 1);
+        }
+
+        Prefab prefab = prefabManager.getPrefab(uri);
+        if (prefab != null) {
+            ResultItemDescriptor descriptor = resultItemDescriptorRegistry.getPrefabDescriptor(prefab).withCount(count);
+            return new ProcessResultSpec(result, count, prefab, null, descriptor);
+        }
+
+        BlockFamily blockFamily = blockManager.getBlockFamily(uri);
+        if (blockFamily != null) {
+            ResultItemDescriptor descriptor = resultItemDescriptorRegistry.getBlockDescriptor(blockFamily).withCount(count);
+            return new ProcessResultSpec(result, count, null, blockFamily, descriptor);
+        }
+        return new ProcessResultSpec(result, count, null, null, null);
+    }
+
+    @Override
+    public EntityRef createResultItem(String result) {
+        ProcessResultSpec resultSpec = getResultSpec(result);
+        if (resultSpec.getPrefab() != null) {
+            EntityRef resultItem = entityManager.create(resultSpec.getPrefab());
+            ItemComponent item = resultItem.getComponent(ItemComponent.class);
+            item.stackCount = (byte) resultSpec.getCount();
+            resultItem.saveComponent(item);
+            return resultItem;
+        } else if (resultSpec.getBlockFamily() != null) {
+            return blockItemFactory.newInstance(resultSpec.getBlockFamily(), resultSpec.getCount());
+        }
+        return EntityRef.NULL;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.world.block.family.BlockFamily;
+
+/**
+ * Compiled form of a process result definition in the "count*uri" format (e.g. "2*WoodAndStone:Brick"), with the
+ * uri resolved to either an item prefab or a block family.
+ */
+public final class ProcessResultSpec {
+    private final String result;
+    private final int count;
+    private final Prefab prefab;
+    private final BlockFamily blockFamily;
+    private final ResultItemDescriptor descriptor;
+
+    ProcessResultSpec(String result, int count, Prefab prefab, BlockFamily blockFamily, ResultItemDescriptor descriptor) {
+        this.result = result;
+        this.count = count;
+        this.prefab = prefab;
+        this.blockFamily = blockFamily;
+        this.descriptor = descriptor;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the prefab of the result item, or null if the result is a block.
+     *
+     * @return
+     */
+    public Prefab getPrefab() {
+        return prefab;
+    }
+
+    /**
+     * Returns the block family of the result, or null if the result is an item.
+     *
+     * @return
+     */
+    public BlockFamily getBlockFamily() {
+        return blockFamily;
+    }
+
+    /**
+     * Returns the descriptor of the result item (in the result quantity), or null if the uri could not be resolved.
+     *
+     * @return
+     */
+    public ResultItemDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    public boolean isResolved() {
+        return prefab != null || blockFamily != null;
+    }
+}
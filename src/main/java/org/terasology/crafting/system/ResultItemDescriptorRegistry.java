@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.world.block.family.BlockFamily;
+
+/**
+ * Provides descriptors of the items created from prefabs and block families, used to check if results can be output
+ * without creating the result items.
+ */
+public interface ResultItemDescriptorRegistry {
+    /**
+     * Returns the descriptor of a single item created from the prefab.
+     *
+     * @param prefab
+     * @return
+     */
+    ResultItemDescriptor getPrefabDescriptor(Prefab prefab);
+
+    /**
+     * Returns the descriptor of a single block item of the block family.
+     *
+     * @param blockFamily
+     * @return
+     */
+    ResultItemDescriptor getBlockDescriptor(BlockFamily blockFamily);
+}
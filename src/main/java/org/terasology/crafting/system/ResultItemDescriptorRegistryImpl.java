@@ -0,0 +1,72 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
+import org.terasology.entitySystem.entity.EntityManager;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.world.block.family.BlockFamily;
+import org.terasology.world.block.items.BlockItemFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = ResultItemDescriptorRegistry.class)
+public class ResultItemDescriptorRegistryImpl extends BaseComponentSystem implements ResultItemDescriptorRegistry {
+    @In
+    private EntityManager entityManager;
+
+    private Map<Prefab, ResultItemDescriptor> prefabDescriptors = new HashMap<>();
+    private Map<BlockFamily, ResultItemDescriptor> blockDescriptors = new HashMap<>();
+
+    @Override
+    public ResultItemDescriptor getPrefabDescriptor(Prefab prefab) {
+        ResultItemDescriptor descriptor = prefabDescriptors.get(prefab);
+        if (descriptor == null) {
+            descriptor = ResultItemDescriptor.forPrefab(prefab, 1);
+            prefabDescriptors.put(prefab, descriptor);
+        }
+        return descriptor;
+    }
+
+    @Override
+    public ResultItemDescriptor getBlockDescriptor(BlockFamily blockFamily) {
+        ResultItemDescriptor descriptor = blockDescriptors.get(blockFamily);
+        if (descriptor == null) {
+            // Block items get their components from the block family, so one sample item is created per family
+            EntityRef sampleItem = new BlockItemFactory(entityManager).newInstance(blockFamily, 1);
+            try {
+                descriptor = ResultItemDescriptor.forItem(sampleItem);
+            } finally {
+                sampleItem.destroy();
+            }
+            blockDescriptors.put(blockFamily, descriptor);
+        }
+        return descriptor;
+    }
+
+    @Override
+    public void shutdown() {
+        prefabDescriptors.clear();
+        blockDescriptors.clear();
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Provides the slot-role tables of workstations, shared between all the workstations created from the same prefab.
+ */
+public interface WorkstationSlotRoleRegistry {
+    /**
+     * Returns the slot-role table of the workstation's inventory layout, or WorkstationSlotRoles.EMPTY if the entity
+     * has no WorkstationInventoryComponent.
+     *
+     * @param workstation
+     * @return
+     */
+    WorkstationSlotRoles getSlotRoles(EntityRef workstation);
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.registry.Share;
+import org.terasology.workstation.component.WorkstationInventoryComponent;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RegisterSystem
+@Share(value = WorkstationSlotRoleRegistry.class)
+public class WorkstationSlotRoleRegistryImpl extends BaseComponentSystem implements WorkstationSlotRoleRegistry {
+    private Map<Prefab, WorkstationSlotRoles> slotRolesByPrefab = new HashMap<>();
+
+    @Override
+    public WorkstationSlotRoles getSlotRoles(EntityRef workstation) {
+        WorkstationInventoryComponent inventory = workstation.getComponent(WorkstationInventoryComponent.class);
+        if (inventory == null) {
+            return WorkstationSlotRoles.EMPTY;
+        }
+
+        // Workstations do not change their inventory layout, those created from the same prefab share the table
+        Prefab prefab = workstation.getParentPrefab();
+        if (prefab == null || !prefab.hasComponent(WorkstationInventoryComponent.class)) {
+            return new WorkstationSlotRoles(inventory);
+        }
+
+        WorkstationSlotRoles slotRoles = slotRolesByPrefab.get(prefab);
+        if (slotRoles == null) {
+            slotRoles = new WorkstationSlotRoles(inventory);
+            slotRolesByPrefab.put(prefab, slotRoles);
+        }
+        return slotRoles;
+    }
+
+    @Override
+    public void shutdown() {
+        slotRolesByPrefab.clear();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system;
+
+import org.terasology.workstation.component.WorkstationInventoryComponent;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable table of the roles (slot types) assigned to each slot of a workstation inventory layout. Built once from
+ * a WorkstationInventoryComponent, so that slot-role checks are a single array read.
+ */
+public final class WorkstationSlotRoles {
+    public static final int INPUT = 1;
+    public static final int TOOL = 1 << 1;
+    public static final int OUTPUT = 1 << 2;
+    public static final int FUEL = 1 << 3;
+    public static final int UPGRADE = 1 << 4;
+    public static final int FLUID_INPUT = 1 << 5;
+
+    public static final WorkstationSlotRoles EMPTY = new WorkstationSlotRoles(null);
+
+    private static final Map<String, Integer> KNOWN_ROLES = new HashMap<>();
+
+    static {
+        KNOWN_ROLES.put("INPUT", INPUT);
+        KNOWN_ROLES.put("TOOL", TOOL);
+        KNOWN_ROLES.put("OUTPUT", OUTPUT);
+        KNOWN_ROLES.put("FUEL", FUEL);
+        KNOWN_ROLES.put("UPGRADE", UPGRADE);
+        KNOWN_ROLES.put("FLUID_INPUT", FLUID_INPUT);
+    }
+
+    private final Map<String, Integer> roles = new HashMap<>();
+    private final Map<String, List<Integer>> slotsByType = new HashMap<>();
+    private final int[] slotRoles;
+
+    public WorkstationSlotRoles(WorkstationInventoryComponent inventory) {
+        int slotCount = 0;
+        int nextRole = FLUID_INPUT << 1;
+        if (inventory != null) {
+            for (Map.Entry<String, WorkstationInventoryComponent.SlotAssignment> assignment : inventory.slotAssignments.entrySet()) {
+                String type = assignment.getKey();
+                Integer role = KNOWN_ROLES.get(type);
+                if (role == null) {
+                    // Other slot types are given the remaining bits, beyond that they can only be queried by slot list
+                    role = nextRole;
+                    nextRole <<= 1;
+                }
+                roles.put(type, role);
+
+                WorkstationInventoryComponent.SlotAssignment slots = assignment.getValue();
+                List<Integer> slotList = new ArrayList<>(slots.slotCount);
+                for (int i = 0; i < slots.slotCount; i++) {
+                    slotList.add(slots.slotStart + i);
+                }
+                slotsByType.put(type, Collections.unmodifiableList(slotList));
+                slotCount = Math.max(slotCount, slots.slotStart + slots.slotCount);
+            }
+        }
+
+        slotRoles = new int[slotCount];
+        for (Map.Entry<String, List<Integer>> typeSlots : slotsByType.entrySet()) {
+            int role = roles.get(typeSlots.getKey());
+            for (int slot : typeSlots.getValue()) {
+                slotRoles[slot] |= role;
+            }
+        }
+    }
+
+    /**
+     * Checks if the slot has any of the specified roles.
+     *
+     * @param slotNo
+     * @param roleMask Combination of the role constants of this class, or values returned by getRole.
+     * @return
+     */
+    public boolean hasAnyRole(int slotNo, int roleMask) {
+        return slotNo >= 0 && slotNo < slotRoles.length && (slotRoles[slotNo] & roleMask) != 0;
+    }
+
+    /**
+     * Checks if the slot is assigned to the slot type.
+     *
+     * @param slotNo
+     * @param slotType
+     * @return
+     */
+    public boolean isSlotOfType(int slotNo, String slotType) {
+        return hasAnyRole(slotNo, getRole(slotType));
+    }
+
+    /**
+     * Returns the role bit of the slot type in this layout, or 0 if the layout does not have that slot type.
+     *
+     * @param slotType
+     * @return
+     */
+    public int getRole(String slotType) {
+        Integer role = roles.get(slotType);
+        return role != null ? role : 0;
+    }
+
+    /**
+     * Returns the slots assigned to the slot type, in the same order as WorkstationInventoryUtils.getAssignedSlots.
+     * The returned list is shared and may not be modified.
+     *
+     * @param slotType
+     * @return
+     */
+    public List<Integer> getSlots(String slotType) {
+        List<Integer> slots = slotsByType.get(slotType);
+        return slots != null ? slots : Collections.<Integer>emptyList();
+    }
+}
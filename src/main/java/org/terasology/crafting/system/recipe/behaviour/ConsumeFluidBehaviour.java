@@ -18,7 +18,6 @@ package org.terasology.crafting.system.recipe.behaviour;
 import org.terasology.crafting.system.recipe.render.CraftIngredientRenderer;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.fluid.component.FluidComponent;
-import org.terasology.fluid.component.FluidInventoryComponent;
 import org.terasology.fluid.system.FluidManager;
 import org.terasology.math.TeraMath;
 import org.terasology.registry.CoreRegistry;
@@ -37,10 +36,18 @@ public class ConsumeFluidBehaviour implements IngredientCraftBehaviour<String> {
         this.resolver = resolver;
     }
 
+    public String getFluidType() {
+        return fluidType;
+    }
+
     @Override
     public int getMaxMultiplier(EntityRef entity, String slot) {
-        FluidInventoryComponent fluidInventory = entity.getComponent(FluidInventoryComponent.class);
-        FluidComponent fluid = fluidInventory.fluidSlots.get(Integer.parseInt(slot)).getComponent(FluidComponent.class);
+        return getMaxMultiplier(new CraftingValidationContext(entity), slot);
+    }
+
+    @Override
+    public int getMaxMultiplier(CraftingValidationContext context, String slot) {
+        FluidComponent fluid = context.getFluidAt(Integer.parseInt(slot));
         return TeraMath.floorToInt(fluid.volume / volume);
     }
 
@@ -51,9 +58,14 @@ public class ConsumeFluidBehaviour implements IngredientCraftBehaviour<String> {
 
     @Override
     public List<String> getValidToCraft(EntityRef entity, int multiplier) {
+        return getValidToCraft(new CraftingValidationContext(entity), multiplier);
+    }
+
+    @Override
+    public List<String> getValidToCraft(CraftingValidationContext context, int multiplier) {
         List<String> result = new LinkedList<>();
-        for (int slot : resolver.getSlots(entity)) {
-            if (isValidToCraft(entity, slot, multiplier)) {
+        for (int slot : resolver.getSlots(context.getEntity())) {
+            if (isValidToCraft(context, slot, multiplier)) {
                 result.add(String.valueOf(slot));
             }
         }
@@ -61,9 +73,8 @@ public class ConsumeFluidBehaviour implements IngredientCraftBehaviour<String> {
         return result;
     }
 
-    private boolean isValidToCraft(EntityRef entity, int slot, int multiplier) {
-        FluidInventoryComponent fluidInventory = entity.getComponent(FluidInventoryComponent.class);
-        FluidComponent fluid = fluidInventory.fluidSlots.get(slot).getComponent(FluidComponent.class);
+    private boolean isValidToCraft(CraftingValidationContext context, int slot, int multiplier) {
+        FluidComponent fluid = context.getFluidAt(slot);
         if (fluid != null && fluid.fluidType.equals(fluidType) && fluid.volume >= volume * multiplier) {
             return true;
         }
@@ -72,7 +83,12 @@ public class ConsumeFluidBehaviour implements IngredientCraftBehaviour<String> {
 
     @Override
     public boolean isValidToCraft(EntityRef entity, String slot, int multiplier) {
-        return isValidToCraft(entity, Integer.parseInt(slot), multiplier);
+        return isValidToCraft(new CraftingValidationContext(entity), slot, multiplier);
+    }
+
+    @Override
+    public boolean isValidToCraft(CraftingValidationContext context, String slot, int multiplier) {
+        return isValidToCraft(context, Integer.parseInt(slot), multiplier);
     }
 
     @Override
@@ -22,11 +22,8 @@ import org.terasology.crafting.system.recipe.render.MultiplyFunction;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.inventory.InventoryManager;
 import org.terasology.logic.inventory.InventoryUtils;
-import org.terasology.logic.inventory.ItemComponent;
 import org.terasology.registry.CoreRegistry;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -36,118 +33,159 @@ import java.util.Map;
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
 public class ConsumeItemCraftBehaviour implements IngredientCraftBehaviour<EntityRef> {
+    private static final String[] NO_VALUES = new String[0];
+    private static final int MAX_PARSED_PARAMETERS = 64;
+
     private Predicate<EntityRef> matcher;
     private int count;
     private InventorySlotResolver resolver;
 
+    private Map<String, ItemSlotParameter> parsedParameters = new LinkedHashMap<String, ItemSlotParameter>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ItemSlotParameter> eldest) {
+            return size() > MAX_PARSED_PARAMETERS;
+        }
+    };
+
     public ConsumeItemCraftBehaviour(Predicate<EntityRef> matcher, int count, InventorySlotResolver resolver) {
         this.matcher = matcher;
         this.count = count;
         this.resolver = resolver;
     }
 
+    public Predicate<EntityRef> getMatcher() {
+        return matcher;
+    }
+
     @Override
     public boolean isValidAnyAmount(EntityRef ingredient) {
         return matcher.apply(ingredient);
     }
 
-    protected String getParameter(List<Integer> slots, EntityRef item) {
-        StringBuilder sb = new StringBuilder();
-        for (int slot : slots) {
-            sb.append(slot).append(",");
-        }
-
-        return sb.replace(sb.length() - 1, sb.length(), "").toString();
+    /**
+     * Returns the values describing the item, that are appended to the slots in the ingredient parameter.
+     *
+     * @param item
+     * @return
+     */
+    protected String[] getParameterValues(EntityRef item) {
+        return NO_VALUES;
     }
 
-    protected List<Integer> getSlots(String parameter) {
-        String[] split = parameter.split(",");
-        List<Integer> result = new LinkedList<>();
-        for (String slot : split) {
-            result.add(Integer.parseInt(slot));
+    /**
+     * Returns the ingredient parameter represented by the specified parameter string. Parsed parameters are cached,
+     * so validating the same parameter repeatedly does not parse it again.
+     *
+     * @param parameter
+     * @return
+     */
+    public ItemSlotParameter getItemSlotParameter(String parameter) {
+        ItemSlotParameter result = parsedParameters.get(parameter);
+        if (result == null) {
+            result = ItemSlotParameter.parse(parameter);
+            parsedParameters.put(parameter, result);
         }
-
         return result;
     }
 
     @Override
     public List<String> getValidToCraft(EntityRef entity, int multiplier) {
-        Map<EntityRef, Integer> itemCounts = new LinkedHashMap<>();
-        Map<EntityRef, List<Integer>> slots = new LinkedHashMap<>();
-
-        for (int slot : resolver.getSlots(entity)) {
-            EntityRef item = InventoryUtils.getItemAt(entity, slot);
-            if (matcher.apply(item)) {
-                boolean defined = false;
-                for (Map.Entry<EntityRef, Integer> itemCount : itemCounts.entrySet()) {
-                    EntityRef sameItem = itemCount.getKey();
-                    if (InventoryUtils.isSameItem(sameItem, item)) {
-                        itemCount.setValue(itemCount.getValue() + InventoryUtils.getStackCount(item));
-                        slots.get(sameItem).add(slot);
-                        defined = true;
-                        break;
-                    }
-                }
+        return getValidToCraft(new CraftingValidationContext(entity), multiplier);
+    }
 
-                if (!defined) {
-                    itemCounts.put(item, InventoryUtils.getStackCount(item));
-                    slots.put(item, new ArrayList<>(Arrays.asList(slot)));
-                }
-            }
-        }
+    @Override
+    public List<String> getValidToCraft(CraftingValidationContext context, int multiplier) {
+        List<ItemStackGroup> groups = context.getItemStackGroups(matcher, resolver);
 
         List<String> result = new LinkedList<>();
-        for (Map.Entry<EntityRef, Integer> itemCount : itemCounts.entrySet()) {
-            if (itemCount.getValue() >= count * multiplier) {
-                EntityRef item = itemCount.getKey();
-                result.add(getParameter(slots.get(item), item));
+        for (ItemStackGroup group : groups) {
+            if (group.count >= count * multiplier) {
+                int[] slotArray = new int[group.slots.size()];
+                for (int i = 0; i < slotArray.length; i++) {
+                    slotArray[i] = group.slots.get(i);
+                }
+                ItemSlotParameter parameter = ItemSlotParameter.create(slotArray, getParameterValues(group.item));
+                parsedParameters.put(parameter.toString(), parameter);
+                result.add(parameter.toString());
             }
         }
 
         return result;
     }
 
-    private boolean isValidToCraft(EntityRef entity, List<Integer> slots, int multiplier) {
-        int sum = getItemSum(entity, slots);
+    private boolean isValidToCraft(CraftingValidationContext context, int[] slots, int multiplier) {
+        int sum = getItemSum(context, slots);
 
         return sum >= count * multiplier;
     }
 
-    private int getItemSum(EntityRef entity, List<Integer> slots) {
+    private int getItemSum(CraftingValidationContext context, int[] slots) {
         int sum = 0;
         for (int slot : slots) {
-            EntityRef ingredient = InventoryUtils.getItemAt(entity, slot);
-            if (matcher.apply(ingredient)) {
-                ItemComponent itemComponent = ingredient.getComponent(ItemComponent.class);
-                if (itemComponent != null) {
-                    sum += itemComponent.stackCount;
-                }
+            if (matcher.apply(context.getItemAt(slot))) {
+                sum += context.getItemCount(slot);
             }
         }
         return sum;
     }
 
+    /**
+     * Adds the number of items crafting with the parameter takes from each of its slots to the map. The items are
+     * taken from the slots in order, as processIngredient does.
+     *
+     * @param context
+     * @param parameter
+     * @param multiplier
+     * @param consumedItems
+     */
+    public void appendConsumedItems(CraftingValidationContext context, String parameter, int multiplier, Map<Integer, Integer> consumedItems) {
+        int remaining = count * multiplier;
+        for (int slot : getItemSlotParameter(parameter).getSlots()) {
+            if (remaining == 0) {
+                break;
+            }
+            if (matcher.apply(context.getItemAt(slot))) {
+                int taken = Math.min(remaining, context.getItemCount(slot));
+                if (taken > 0) {
+                    Integer consumed = consumedItems.get(slot);
+                    consumedItems.put(slot, consumed != null ? consumed + taken : taken);
+                    remaining -= taken;
+                }
+            }
+        }
+    }
+
     @Override
     public boolean isValidToCraft(EntityRef entity, String parameter, int multiplier) {
-        return isValidToCraft(entity, getSlots(parameter), multiplier);
+        return isValidToCraft(new CraftingValidationContext(entity), parameter, multiplier);
+    }
+
+    @Override
+    public boolean isValidToCraft(CraftingValidationContext context, String parameter, int multiplier) {
+        return isValidToCraft(context, getItemSlotParameter(parameter).getSlots(), multiplier);
     }
 
     @Override
     public int getMaxMultiplier(EntityRef entity, String parameter) {
-        return getItemSum(entity, getSlots(parameter)) / count;
+        return getMaxMultiplier(new CraftingValidationContext(entity), parameter);
+    }
+
+    @Override
+    public int getMaxMultiplier(CraftingValidationContext context, String parameter) {
+        return getItemSum(context, getItemSlotParameter(parameter).getSlots()) / count;
     }
 
     @Override
     public CraftIngredientRenderer getRenderer(EntityRef entity, String parameter) {
         ItemSlotIngredientRenderer renderer = new ItemSlotIngredientRenderer();
-        renderer.update(entity, getSlots(parameter).get(0), new MultiplyFunction(count));
+        renderer.update(entity, getItemSlotParameter(parameter).getSlots()[0], new MultiplyFunction(count));
         return renderer;
     }
 
     @Override
     public void processIngredient(EntityRef instigator, EntityRef entity, String parameter, int multiplier) {
         List<EntityRef> items = new LinkedList<>();
-        for (int slot : getSlots(parameter)) {
+        for (int slot : getItemSlotParameter(parameter).getSlots()) {
             items.add(InventoryUtils.getItemAt(entity, slot));
         }
 
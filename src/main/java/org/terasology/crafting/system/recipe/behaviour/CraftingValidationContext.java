@@ -0,0 +1,243 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system.recipe.behaviour;
+
+import com.google.common.base.Predicate;
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.fluid.component.FluidComponent;
+import org.terasology.fluid.component.FluidInventoryComponent;
+import org.terasology.heat.HeatUtils;
+import org.terasology.logic.inventory.InventoryUtils;
+import org.terasology.logic.inventory.ItemComponent;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.BlockEntityRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of an entity (station or character) used while validating recipes against it. The heat,
+ * the slot contents and the answers to the output checks are read once and reused by every recipe validated with the
+ * same context. Slot scans are remembered per item predicate and slot resolver, so recipes sharing them (see
+ * CraftBehaviourRegistry) scan the inventory only once.
+ * <p/>
+ * A context should only live as long as the entity does not change, i.e. it should be created for a batch of
+ * validations done in the same tick and discarded afterwards.
+ */
+public class CraftingValidationContext {
+    private final EntityRef entity;
+    private final Map<Integer, Integer> reservedItems;
+
+    private Float heat;
+    private Map<Integer, EntityRef> items = new HashMap<>();
+    private Map<Integer, FluidComponent> fluids = new HashMap<>();
+    private Map<ResultItemDescriptor, Boolean> outputFits = new HashMap<>();
+    private Map<List<Object>, List<Integer>> matchingSlots = new HashMap<>();
+    private Map<List<Object>, List<ItemStackGroup>> itemStackGroups = new HashMap<>();
+
+    public CraftingValidationContext(EntityRef entity) {
+        this(entity, Collections.<Integer, Integer>emptyMap());
+    }
+
+    /**
+     * Creates a context, in which the specified number of items in each slot are not available for crafting.
+     *
+     * @param entity
+     * @param reservedItems
+     */
+    public CraftingValidationContext(EntityRef entity, Map<Integer, Integer> reservedItems) {
+        this.entity = entity;
+        this.reservedItems = reservedItems;
+    }
+
+    public EntityRef getEntity() {
+        return entity;
+    }
+
+    /**
+     * Returns the heat of the entity, calculated the first time it is requested.
+     *
+     * @return
+     */
+    public float getHeat() {
+        if (heat == null) {
+            heat = HeatUtils.calculateHeatForEntity(entity, CoreRegistry.get(BlockEntityRegistry.class));
+        }
+        return heat;
+    }
+
+    /**
+     * Returns the item in the specified slot of the entity's inventory.
+     *
+     * @param slot
+     * @return
+     */
+    public EntityRef getItemAt(int slot) {
+        EntityRef item = items.get(slot);
+        if (item == null) {
+            item = InventoryUtils.getItemAt(entity, slot);
+            items.put(slot, item);
+        }
+        return item;
+    }
+
+    /**
+     * Returns the number of items in the specified slot that are available for crafting, that is the ones that are
+     * not reserved.
+     *
+     * @param slot
+     * @return
+     */
+    public int getItemCount(int slot) {
+        int count = InventoryUtils.getStackCount(getItemAt(slot));
+        Integer reserved = reservedItems.get(slot);
+        if (reserved != null) {
+            return Math.max(0, count - reserved);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the fluid in the specified fluid slot of the entity, or null if the slot is empty.
+     *
+     * @param fluidSlot
+     * @return
+     */
+    public FluidComponent getFluidAt(int fluidSlot) {
+        if (fluids.containsKey(fluidSlot)) {
+            return fluids.get(fluidSlot);
+        }
+
+        FluidComponent fluid = null;
+        FluidInventoryComponent fluidInventory = entity.getComponent(FluidInventoryComponent.class);
+        if (fluidInventory != null && fluidSlot < fluidInventory.fluidSlots.size()) {
+            fluid = fluidInventory.fluidSlots.get(fluidSlot).getComponent(FluidComponent.class);
+        }
+        fluids.put(fluidSlot, fluid);
+        return fluid;
+    }
+
+    /**
+     * Checks if the described result can be placed in any of the OUTPUT slots of the entity. The answer is remembered,
+     * so results that are described the same are checked only once.
+     *
+     * @param result
+     * @return
+     */
+    public boolean canOutput(ResultItemDescriptor result) {
+        Boolean fits = outputFits.get(result);
+        if (fits == null) {
+            fits = false;
+            if (result.isWithinStackSize()) {
+                for (int slot : CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(entity).getSlots("OUTPUT")) {
+                    if (result.canStackInto(getItemAt(slot))) {
+                        fits = true;
+                        break;
+                    }
+                }
+            }
+            outputFits.put(result, fits);
+        }
+        return fits;
+    }
+
+    /**
+     * Returns the slots, out of the ones returned by the resolver, containing items matching the predicate.
+     *
+     * @param matcher
+     * @param resolver
+     * @return
+     */
+    public List<Integer> getMatchingSlots(Predicate<EntityRef> matcher, InventorySlotResolver resolver) {
+        List<Object> key = Arrays.<Object>asList(matcher, resolver);
+        List<Integer> result = matchingSlots.get(key);
+        if (result == null) {
+            result = new ArrayList<>();
+            for (int slot : resolver.getSlots(entity)) {
+                if (matcher.apply(getItemAt(slot))) {
+                    result.add(slot);
+                }
+            }
+            result = Collections.unmodifiableList(result);
+            matchingSlots.put(key, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the matching items in the slots returned by the resolver, grouped by being the same item.
+     *
+     * @param matcher
+     * @param resolver
+     * @return
+     */
+    List<ItemStackGroup> getItemStackGroups(Predicate<EntityRef> matcher, InventorySlotResolver resolver) {
+        List<Object> key = Arrays.<Object>asList(matcher, resolver);
+        List<ItemStackGroup> groups = itemStackGroups.get(key);
+        if (groups == null) {
+            groups = new ArrayList<>();
+            Map<String, List<ItemStackGroup>> groupsByStackId = new HashMap<>();
+
+            for (int slot : getMatchingSlots(matcher, resolver)) {
+                EntityRef item = getItemAt(slot);
+                ItemStackGroup group = null;
+                // Only items with the same stack id can be the same item, so only those are compared
+                String stackId = getStackId(item);
+                List<ItemStackGroup> sameStackIdGroups = null;
+                if (stackId != null) {
+                    sameStackIdGroups = groupsByStackId.get(stackId);
+                    if (sameStackIdGroups == null) {
+                        sameStackIdGroups = new ArrayList<>(1);
+                        groupsByStackId.put(stackId, sameStackIdGroups);
+                    } else {
+                        for (ItemStackGroup sameStackIdGroup : sameStackIdGroups) {
+                            if (InventoryUtils.isSameItem(sameStackIdGroup.item, item)) {
+                                group = sameStackIdGroup;
+                                break;
+                            }
+                        }
+                    }
+                }
+
+                if (group == null) {
+                    group = new ItemStackGroup(item);
+                    groups.add(group);
+                    if (sameStackIdGroups != null) {
+                        sameStackIdGroups.add(group);
+                    }
+                }
+                group.count += getItemCount(slot);
+                group.slots.add(slot);
+            }
+            itemStackGroups.put(key, groups);
+        }
+        return groups;
+    }
+
+    private String getStackId(EntityRef item) {
+        ItemComponent itemComponent = item.getComponent(ItemComponent.class);
+        if (itemComponent != null && itemComponent.stackId != null && !itemComponent.stackId.isEmpty()) {
+            return itemComponent.stackId;
+        }
+        return null;
+    }
+}
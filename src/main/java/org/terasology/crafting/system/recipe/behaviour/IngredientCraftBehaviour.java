@@ -28,10 +28,16 @@ public interface IngredientCraftBehaviour<T> {
 
     List<String> getValidToCraft(EntityRef entity, int multiplier);
 
+    List<String> getValidToCraft(CraftingValidationContext context, int multiplier);
+
     boolean isValidToCraft(EntityRef entity, String parameter, int multiplier);
 
+    boolean isValidToCraft(CraftingValidationContext context, String parameter, int multiplier);
+
     int getMaxMultiplier(EntityRef entity, String parameter);
 
+    int getMaxMultiplier(CraftingValidationContext context, String parameter);
+
     CraftIngredientRenderer getRenderer(EntityRef entity, String parameter);
 
     void processIngredient(EntityRef instigator, EntityRef entity, String parameter, int multiplier);
@@ -15,8 +15,9 @@
  */
 package org.terasology.crafting.system.recipe.behaviour;
 
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
+import org.terasology.registry.CoreRegistry;
 
 import java.util.List;
 
@@ -29,6 +30,23 @@ public class InventorySlotTypeResolver implements InventorySlotResolver {
 
     @Override
     public List<Integer> getSlots(EntityRef entity) {
-        return WorkstationInventoryUtils.getAssignedSlots(entity, slotType);
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(entity).getSlots(slotType);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        InventorySlotTypeResolver that = (InventorySlotTypeResolver) o;
+        return slotType.equals(that.slotType);
+    }
+
+    @Override
+    public int hashCode() {
+        return slotType.hashCode();
     }
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system.recipe.behaviour;
+
+/**
+ * Parameter of an item ingredient - the inventory slots holding the ingredient and optional values describing it
+ * (i.e. type of wood, or genes of a herb). It is encoded as the comma separated slots followed by the values, each
+ * preceded by '|', i.e. "3,4,7|Oak", which is the form sent in the crafting requests and stored in the crafting
+ * processes.
+ */
+public final class ItemSlotParameter {
+    private static final String[] NO_VALUES = new String[0];
+
+    private final int[] slots;
+    private final String[] values;
+    private final String encoded;
+
+    private ItemSlotParameter(int[] slots, String[] values, String encoded) {
+        this.slots = slots;
+        this.values = values;
+        this.encoded = encoded;
+    }
+
+    public static ItemSlotParameter create(int[] slots, String... values) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < slots.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(slots[i]);
+        }
+        for (String value : values) {
+            sb.append('|').append(value);
+        }
+        return new ItemSlotParameter(slots, values, sb.toString());
+    }
+
+    public static ItemSlotParameter parse(String encoded) {
+        int valuesStart = encoded.indexOf('|');
+        String slotsPart = valuesStart < 0 ? encoded : encoded.substring(0, valuesStart);
+
+        String[] slotSplit = slotsPart.split(",");
+        int[] slots = new int[slotSplit.length];
+        for (int i = 0; i < slotSplit.length; i++) {
+            slots[i] = Integer.parseInt(slotSplit[i]);
+        }
+
+        String[] values = valuesStart < 0 ? NO_VALUES : encoded.substring(valuesStart + 1).split("\\|", -1);
+        return new ItemSlotParameter(slots, values, encoded);
+    }
+
+    /**
+     * Returns the encoded parameter without its slots, i.e. "|Oak" for "3,4,7|Oak", or an empty string if it has no
+     * values. Parameters with the same values part describe the same ingredient, wherever it is in the inventory.
+     *
+     * @param encoded
+     * @return
+     */
+    public static String getValuesPart(String encoded) {
+        int valuesStart = encoded.indexOf('|');
+        return valuesStart < 0 ? "" : encoded.substring(valuesStart);
+    }
+
+    /**
+     * Returns the slots of the ingredient, the returned array must not be modified.
+     *
+     * @return
+     */
+    public int[] getSlots() {
+        return slots;
+    }
+
+    public int getValueCount() {
+        return values.length;
+    }
+
+    public String getValue(int index) {
+        return values[index];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        ItemSlotParameter that = (ItemSlotParameter) o;
+        return encoded.equals(that.encoded);
+    }
+
+    @Override
+    public int hashCode() {
+        return encoded.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return encoded;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system.recipe.behaviour;
+
+import com.google.common.base.Predicate;
+import org.terasology.crafting.system.PrefabPredicateCache;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.registry.CoreRegistry;
+import org.terasology.world.block.items.BlockItemComponent;
+
+/**
+ * Item predicate whose result depends only on the prefab the item was created from. The result is evaluated once
+ * per prefab and cached in PrefabPredicateCache. Items that do not take what is tested from their parent prefab
+ * (block items, which all share the same parent prefab, and items without a prefab) are tested directly.
+ */
+public abstract class PrefabClassifiedPredicate implements Predicate<EntityRef> {
+    @Override
+    public boolean apply(EntityRef input) {
+        Prefab prefab = input.getParentPrefab();
+        if (prefab == null || input.hasComponent(BlockItemComponent.class)) {
+            return applyToItem(input);
+        }
+        PrefabPredicateCache predicateCache = CoreRegistry.get(PrefabPredicateCache.class);
+        if (predicateCache == null) {
+            return applyToItem(input);
+        }
+        return predicateCache.isSatisfied(prefab, this);
+    }
+
+    /**
+     * Evaluates the predicate for items created from the prefab.
+     *
+     * @param prefab
+     * @return
+     */
+    public abstract boolean applyToPrefab(Prefab prefab);
+
+    /**
+     * Evaluates the predicate for the specific item.
+     *
+     * @param item
+     * @return
+     */
+    protected abstract boolean applyToItem(EntityRef item);
+}
@@ -20,7 +20,6 @@ import org.terasology.crafting.system.recipe.render.CraftIngredientRenderer;
 import org.terasology.crafting.system.recipe.render.FixedFunction;
 import org.terasology.crafting.system.recipe.render.ItemSlotIngredientRenderer;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.logic.inventory.InventoryUtils;
 import org.terasology.logic.inventory.ItemComponent;
 
 import java.util.LinkedList;
@@ -40,6 +39,10 @@ public class PresenceItemCraftBehaviour implements IngredientCraftBehaviour<Enti
         this.resolver = resolver;
     }
 
+    public Predicate<EntityRef> getMatcher() {
+        return matcher;
+    }
+
     @Override
     public boolean isValidAnyAmount(EntityRef ingredient) {
         return matcher.apply(ingredient);
@@ -47,9 +50,14 @@ public class PresenceItemCraftBehaviour implements IngredientCraftBehaviour<Enti
 
     @Override
     public List<String> getValidToCraft(EntityRef entity, int multiplier) {
+        return getValidToCraft(new CraftingValidationContext(entity), multiplier);
+    }
+
+    @Override
+    public List<String> getValidToCraft(CraftingValidationContext context, int multiplier) {
         List<String> result = new LinkedList<>();
-        for (int slot : resolver.getSlots(entity)) {
-            if (isValidToCraft(entity, slot, multiplier)) {
+        for (int slot : context.getMatchingSlots(matcher, resolver)) {
+            if (isValidToCraft(context, slot, multiplier)) {
                 result.add(String.valueOf(slot));
             }
         }
@@ -57,8 +65,8 @@ public class PresenceItemCraftBehaviour implements IngredientCraftBehaviour<Enti
         return result;
     }
 
-    private boolean isValidToCraft(EntityRef entity, int slot, int multiplier) {
-        EntityRef ingredient = InventoryUtils.getItemAt(entity, slot);
+    private boolean isValidToCraft(CraftingValidationContext context, int slot, int multiplier) {
+        EntityRef ingredient = context.getItemAt(slot);
         if (matcher.apply(ingredient)) {
             ItemComponent itemComponent = ingredient.getComponent(ItemComponent.class);
             if (itemComponent != null && itemComponent.stackCount >= count * multiplier) {
@@ -70,7 +78,12 @@ public class PresenceItemCraftBehaviour implements IngredientCraftBehaviour<Enti
 
     @Override
     public boolean isValidToCraft(EntityRef entity, String slot, int multiplier) {
-        return isValidToCraft(entity, Integer.parseInt(slot), multiplier);
+        return isValidToCraft(new CraftingValidationContext(entity), slot, multiplier);
+    }
+
+    @Override
+    public boolean isValidToCraft(CraftingValidationContext context, String slot, int multiplier) {
+        return isValidToCraft(context, Integer.parseInt(slot), multiplier);
     }
 
     @Override
@@ -78,6 +91,11 @@ public class PresenceItemCraftBehaviour implements IngredientCraftBehaviour<Enti
         return Integer.MAX_VALUE;
     }
 
+    @Override
+    public int getMaxMultiplier(CraftingValidationContext context, String slot) {
+        return Integer.MAX_VALUE;
+    }
+
     @Override
     public CraftIngredientRenderer getRenderer(EntityRef entity, String slot) {
         ItemSlotIngredientRenderer renderer = new ItemSlotIngredientRenderer();
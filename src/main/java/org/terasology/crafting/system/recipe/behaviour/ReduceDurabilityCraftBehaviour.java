@@ -41,6 +41,10 @@ public class ReduceDurabilityCraftBehaviour implements IngredientCraftBehaviour<
         this.resolver = resolver;
     }
 
+    public Predicate<EntityRef> getMatcher() {
+        return matcher;
+    }
+
     @Override
     public boolean isValidAnyAmount(EntityRef ingredient) {
         return matcher.apply(ingredient);
@@ -48,9 +52,14 @@ public class ReduceDurabilityCraftBehaviour implements IngredientCraftBehaviour<
 
     @Override
     public List<String> getValidToCraft(EntityRef entity, int multiplier) {
+        return getValidToCraft(new CraftingValidationContext(entity), multiplier);
+    }
+
+    @Override
+    public List<String> getValidToCraft(CraftingValidationContext context, int multiplier) {
         List<String> result = new LinkedList<>();
-        for (int slot : resolver.getSlots(entity)) {
-            if (isValidToCraft(entity, slot, multiplier)) {
+        for (int slot : context.getMatchingSlots(matcher, resolver)) {
+            if (isValidToCraft(context, slot, multiplier)) {
                 result.add(String.valueOf(slot));
             }
         }
@@ -58,8 +67,8 @@ public class ReduceDurabilityCraftBehaviour implements IngredientCraftBehaviour<
         return result;
     }
 
-    private boolean isValidToCraft(EntityRef entity, int slot, int multiplier) {
-        EntityRef ingredient = InventoryUtils.getItemAt(entity, slot);
+    private boolean isValidToCraft(CraftingValidationContext context, int slot, int multiplier) {
+        EntityRef ingredient = context.getItemAt(slot);
         if (matcher.apply(ingredient)) {
             DurabilityComponent durability = ingredient.getComponent(DurabilityComponent.class);
             if (durability != null && durability.durability >= durabilityUsed * multiplier) {
@@ -71,12 +80,22 @@ public class ReduceDurabilityCraftBehaviour implements IngredientCraftBehaviour<
 
     @Override
     public boolean isValidToCraft(EntityRef entity, String slot, int multiplier) {
-        return isValidToCraft(entity, Integer.parseInt(slot), multiplier);
+        return isValidToCraft(new CraftingValidationContext(entity), slot, multiplier);
+    }
+
+    @Override
+    public boolean isValidToCraft(CraftingValidationContext context, String slot, int multiplier) {
+        return isValidToCraft(context, Integer.parseInt(slot), multiplier);
     }
 
     @Override
     public int getMaxMultiplier(EntityRef entity, String slot) {
-        EntityRef ingredient = InventoryUtils.getItemAt(entity, Integer.parseInt(slot));
+        return getMaxMultiplier(new CraftingValidationContext(entity), slot);
+    }
+
+    @Override
+    public int getMaxMultiplier(CraftingValidationContext context, String slot) {
+        EntityRef ingredient = context.getItemAt(Integer.parseInt(slot));
         DurabilityComponent durability = ingredient.getComponent(DurabilityComponent.class);
 
         return durability.durability / durabilityUsed;
@@ -15,6 +15,9 @@
  */
 package org.terasology.crafting.system.recipe.hand;
 
+import com.google.common.base.Supplier;
+import org.terasology.crafting.system.LazyRecipe;
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
 import org.terasology.crafting.system.recipe.behaviour.IngredientCraftBehaviour;
 import org.terasology.crafting.system.recipe.render.CraftIngredientRenderer;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
@@ -29,14 +32,43 @@ import java.util.List;
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
-public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe {
+public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe, LazyRecipe {
     private List<IngredientCraftBehaviour<EntityRef>> itemCraftBehaviours = new ArrayList<>();
     private RecipeResultFactory resultFactory;
+    private Supplier<? extends RecipeResultFactory> resultFactorySupplier;
 
     public CompositeTypeBasedCraftInHandRecipe(RecipeResultFactory resultFactory) {
         this.resultFactory = resultFactory;
     }
 
+    /**
+     * Creates a recipe, which creates its result factory (and resolves the assets the result uses) only when the
+     * result is first needed, or when it is warmed up by CraftingRecipeWarmUp.
+     *
+     * @param resultFactorySupplier
+     */
+    public CompositeTypeBasedCraftInHandRecipe(Supplier<? extends RecipeResultFactory> resultFactorySupplier) {
+        this.resultFactorySupplier = resultFactorySupplier;
+    }
+
+    private RecipeResultFactory getResultFactory() {
+        if (resultFactory == null) {
+            resultFactory = resultFactorySupplier.get();
+            resultFactorySupplier = null;
+        }
+        return resultFactory;
+    }
+
+    @Override
+    public boolean isRecipeCreated() {
+        return resultFactory != null;
+    }
+
+    @Override
+    public void createRecipe() {
+        getResultFactory();
+    }
+
     public void addItemCraftBehaviour(IngredientCraftBehaviour<EntityRef> itemCraftBehaviour) {
         itemCraftBehaviours.add(itemCraftBehaviour);
     }
@@ -44,9 +76,10 @@ public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe {
     @Override
     public List<CraftInHandResult> getMatchingRecipeResults(EntityRef character) {
         // TODO: Improve searching for different kinds of items of the same type in whole inventory, not just first matching
+        CraftingValidationContext context = new CraftingValidationContext(character);
         List<String> parameters = new LinkedList<>();
         for (IngredientCraftBehaviour<EntityRef> itemCraftBehaviour : itemCraftBehaviours) {
-            String parameter = findParameter(character, itemCraftBehaviour);
+            String parameter = findParameter(context, itemCraftBehaviour);
             if (parameter == null) {
                 return null;
             }
@@ -56,8 +89,8 @@ public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe {
         return Collections.<CraftInHandResult>singletonList(new CraftResult(parameters));
     }
 
-    private String findParameter(EntityRef character, IngredientCraftBehaviour itemCraftBehaviour) {
-        final List<String> validToCraft = itemCraftBehaviour.getValidToCraft(character, 1);
+    private String findParameter(CraftingValidationContext context, IngredientCraftBehaviour itemCraftBehaviour) {
+        final List<String> validToCraft = itemCraftBehaviour.getValidToCraft(context, 1);
         if (validToCraft.size() > 0) {
             return validToCraft.get(0);
         }
@@ -95,9 +128,10 @@ public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe {
 
         @Override
         public int getMaxMultiplier(EntityRef entity) {
-            int maxMultiplier = resultFactory.getMaxMultiplier(parameters);
+            CraftingValidationContext context = new CraftingValidationContext(entity);
+            int maxMultiplier = getResultFactory().getMaxMultiplier(parameters);
             for (int i = 0; i < parameters.size(); i++) {
-                maxMultiplier = Math.min(maxMultiplier, itemCraftBehaviours.get(i).getMaxMultiplier(entity, parameters.get(i)));
+                maxMultiplier = Math.min(maxMultiplier, itemCraftBehaviours.get(i).getMaxMultiplier(context, parameters.get(i)));
             }
             return maxMultiplier;
         }
@@ -114,17 +148,18 @@ public class CompositeTypeBasedCraftInHandRecipe implements CraftInHandRecipe {
 
         @Override
         public void setupResultDisplay(ItemIcon itemIcon) {
-            resultFactory.setupDisplay(parameters, itemIcon);
+            getResultFactory().setupDisplay(parameters, itemIcon);
         }
 
         private EntityRef createResult(int multiplier) {
-            return resultFactory.createResult(parameters, multiplier);
+            return getResultFactory().createResult(parameters, multiplier);
         }
 
         @Override
         public boolean isValidForCrafting(EntityRef entity, int multiplier) {
+            CraftingValidationContext context = new CraftingValidationContext(entity);
             for (int i = 0; i < parameters.size(); i++) {
-                if (!itemCraftBehaviours.get(i).isValidToCraft(entity, parameters.get(i), multiplier)) {
+                if (!itemCraftBehaviours.get(i).isValidToCraft(context, parameters.get(i), multiplier)) {
                     return false;
                 }
             }
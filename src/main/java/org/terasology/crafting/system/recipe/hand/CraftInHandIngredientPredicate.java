@@ -15,14 +15,15 @@
  */
 package org.terasology.crafting.system.recipe.hand;
 
-import com.google.common.base.Predicate;
 import org.terasology.crafting.component.CraftInHandIngredientComponent;
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
-public class CraftInHandIngredientPredicate implements Predicate<EntityRef> {
+public class CraftInHandIngredientPredicate extends PrefabClassifiedPredicate {
     private String itemType;
 
     public CraftInHandIngredientPredicate(String itemType) {
@@ -30,8 +31,33 @@ public class CraftInHandIngredientPredicate implements Predicate<EntityRef> {
     }
 
     @Override
-    public boolean apply(EntityRef input) {
-        CraftInHandIngredientComponent craftComponent = input.getComponent(CraftInHandIngredientComponent.class);
+    public boolean applyToPrefab(Prefab prefab) {
+        return isIngredient(prefab.getComponent(CraftInHandIngredientComponent.class));
+    }
+
+    @Override
+    protected boolean applyToItem(EntityRef item) {
+        return isIngredient(item.getComponent(CraftInHandIngredientComponent.class));
+    }
+
+    private boolean isIngredient(CraftInHandIngredientComponent craftComponent) {
         return craftComponent != null && craftComponent.componentType.equals(itemType);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CraftInHandIngredientPredicate that = (CraftInHandIngredientPredicate) o;
+        return itemType.equals(that.itemType);
+    }
+
+    @Override
+    public int hashCode() {
+        return itemType.hashCode();
+    }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@
  */
 package org.terasology.crafting.system.recipe.render;
 
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.rendering.nui.layers.ingame.inventory.ItemIcon;
 
@@ -25,6 +26,15 @@ public interface RecipeResultFactory {
 
     EntityRef createResult(List<String> parameters, int multiplier);
 
+    /**
+     * Describes the item that createResult would create, without creating it.
+     *
+     * @param parameters
+     * @param multiplier
+     * @return
+     */
+    ResultItemDescriptor getResultDescriptor(List<String> parameters, int multiplier);
+
     int getCount(List<String> parameters);
 
     void setupDisplay(List<String> parameters, ItemIcon itemIcon);
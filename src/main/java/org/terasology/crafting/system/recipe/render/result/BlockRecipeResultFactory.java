@@ -16,6 +16,7 @@
 package org.terasology.crafting.system.recipe.render.result;
 
 import org.terasology.asset.Assets;
+import org.terasology.crafting.system.ResultItemDescriptorRegistry;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -57,6 +58,11 @@ public class BlockRecipeResultFactory implements RecipeResultFactory {
         return new BlockItemFactory(CoreRegistry.get(EntityManager.class)).newInstance(getBlock(parameters).getBlockFamily(), count * multiplier);
     }
 
+    @Override
+    public ResultItemDescriptor getResultDescriptor(List<String> parameters, int multiplier) {
+        return CoreRegistry.get(ResultItemDescriptorRegistry.class).getBlockDescriptor(getBlock(parameters).getBlockFamily()).withCount(count * multiplier);
+    }
+
     @Override
     public int getCount(List<String> parameters) {
         return count;
@@ -15,6 +15,7 @@
  */
 package org.terasology.crafting.system.recipe.render.result;
 
+import org.terasology.crafting.system.ResultItemDescriptorRegistry;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
@@ -54,6 +55,11 @@ public class ItemRecipeResultFactory implements RecipeResultFactory {
         return entity;
     }
 
+    @Override
+    public ResultItemDescriptor getResultDescriptor(List<String> parameters, int multiplier) {
+        return CoreRegistry.get(ResultItemDescriptorRegistry.class).getPrefabDescriptor(prefab).withCount(count * multiplier);
+    }
+
     @Override
     public int getCount(List<String> parameters) {
         return count;
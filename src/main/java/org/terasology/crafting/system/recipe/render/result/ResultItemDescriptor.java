@@ -0,0 +1,206 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system.recipe.render.result;
+
+import org.terasology.entitySystem.Component;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.logic.inventory.ItemComponent;
+import org.terasology.logic.inventory.ItemDifferentiating;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Describes an item that would be produced as a result (its stack id, stack size, quantity and the components
+ * differentiating it from other items with the same stack id), so that it can be checked if the result can be stacked
+ * into existing items without creating an entity for it.
+ */
+public final class ResultItemDescriptor {
+    private final String stackId;
+    private final int maxStackSize;
+    private final int count;
+    private final Map<Class<? extends Component>, Component> differentiatingComponents;
+
+    private ResultItemDescriptor(String stackId, int maxStackSize, int count,
+                                 Map<Class<? extends Component>, Component> differentiatingComponents) {
+        this.stackId = stackId;
+        this.maxStackSize = maxStackSize;
+        this.count = count;
+        this.differentiatingComponents = differentiatingComponents;
+    }
+
+    /**
+     * Creates a descriptor of an item created from the prefab.
+     *
+     * @param prefab
+     * @param count
+     * @return
+     */
+    public static ResultItemDescriptor forPrefab(Prefab prefab, int count) {
+        ItemComponent item = prefab.getComponent(ItemComponent.class);
+        return new ResultItemDescriptor(item.stackId, item.maxStackSize, count, getDifferentiatingComponents(prefab.iterateComponents()));
+    }
+
+    /**
+     * Creates a descriptor of an item identical to the specified one. The descriptor does not reference the item, so
+     * the item can be destroyed afterwards.
+     *
+     * @param item
+     * @return
+     */
+    public static ResultItemDescriptor forItem(EntityRef item) {
+        ItemComponent itemComponent = item.getComponent(ItemComponent.class);
+        return new ResultItemDescriptor(itemComponent.stackId, itemComponent.maxStackSize, itemComponent.stackCount,
+                getDifferentiatingComponents(item.iterateComponents()));
+    }
+
+    private static Map<Class<? extends Component>, Component> getDifferentiatingComponents(Iterable<Component> components) {
+        Map<Class<? extends Component>, Component> result = null;
+        for (Component component : components) {
+            if (isDifferentiating(component.getClass())) {
+                if (result == null) {
+                    result = new HashMap<>();
+                }
+                result.put(component.getClass(), component);
+            }
+        }
+        return result != null ? result : Collections.<Class<? extends Component>, Component>emptyMap();
+    }
+
+    private static boolean isDifferentiating(Class<? extends Component> componentClass) {
+        return componentClass.isAnnotationPresent(ItemDifferentiating.class);
+    }
+
+    /**
+     * Returns a descriptor of the same item, but in a different quantity.
+     *
+     * @param newCount
+     * @return
+     */
+    public ResultItemDescriptor withCount(int newCount) {
+        if (newCount == count) {
+            return this;
+        }
+        return new ResultItemDescriptor(stackId, maxStackSize, newCount, differentiatingComponents);
+    }
+
+    /**
+     * Returns a descriptor of the same item with the component added to it. Components that do not differentiate items
+     * do not affect stacking, so those are ignored.
+     *
+     * @param component
+     * @return
+     */
+    public ResultItemDescriptor withComponent(Component component) {
+        if (!isDifferentiating(component.getClass())) {
+            return this;
+        }
+        Map<Class<? extends Component>, Component> components = new HashMap<>(differentiatingComponents);
+        components.put(component.getClass(), component);
+        return new ResultItemDescriptor(stackId, maxStackSize, count, components);
+    }
+
+    public String getStackId() {
+        return stackId;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int getMaxStackSize() {
+        return maxStackSize;
+    }
+
+    /**
+     * Checks if the quantity of the result fits within a single stack.
+     *
+     * @return
+     */
+    public boolean isWithinStackSize() {
+        return count <= maxStackSize;
+    }
+
+    /**
+     * Checks if the result could be placed in a slot holding the specified item. This is the equivalent of
+     * InventoryUtils.canStackInto for an item matching this descriptor.
+     *
+     * @param itemTo
+     * @return
+     */
+    public boolean canStackInto(EntityRef itemTo) {
+        ItemComponent toItem = itemTo.getComponent(ItemComponent.class);
+        if (toItem == null) {
+            return true;
+        }
+        if (stackId == null || stackId.isEmpty() || !stackId.equals(toItem.stackId)) {
+            return false;
+        }
+        if (count + toItem.stackCount > toItem.maxStackSize) {
+            return false;
+        }
+        return hasSameAttributes(itemTo);
+    }
+
+    private boolean hasSameAttributes(EntityRef itemTo) {
+        for (Component component : differentiatingComponents.values()) {
+            if (!component.equals(itemTo.getComponent(component.getClass()))) {
+                return false;
+            }
+        }
+        for (Component component : itemTo.iterateComponents()) {
+            if (isDifferentiating(component.getClass()) && !differentiatingComponents.containsKey(component.getClass())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResultItemDescriptor that = (ResultItemDescriptor) o;
+
+        if (count != that.count) {
+            return false;
+        }
+        if (maxStackSize != that.maxStackSize) {
+            return false;
+        }
+        if (stackId != null ? !stackId.equals(that.stackId) : that.stackId != null) {
+            return false;
+        }
+        return differentiatingComponents.equals(that.differentiatingComponents);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = stackId != null ? stackId.hashCode() : 0;
+        result = 31 * result + maxStackSize;
+        result = 31 * result + count;
+        // Differentiating components from other modules may not override hashCode, so only their classes are hashed
+        result = 31 * result + differentiatingComponents.keySet().hashCode();
+        return result;
+    }
+}
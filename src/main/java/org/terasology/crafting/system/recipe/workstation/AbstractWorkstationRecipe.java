@@ -15,27 +15,34 @@
  */
 package org.terasology.crafting.system.recipe.workstation;
 
+import com.google.common.base.Predicate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.terasology.crafting.system.recipe.behaviour.ConsumeFluidBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
 import org.terasology.crafting.system.recipe.behaviour.IngredientCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ItemSlotParameter;
+import org.terasology.crafting.system.recipe.behaviour.PresenceItemCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
 import org.terasology.crafting.system.recipe.render.CraftIngredientRenderer;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.heat.HeatUtils;
-import org.terasology.logic.inventory.InventoryUtils;
-import org.terasology.logic.inventory.ItemComponent;
 import org.terasology.math.TeraMath;
-import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.nui.layers.ingame.inventory.ItemIcon;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
-import org.terasology.world.BlockEntityRegistry;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
-public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe {
+public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe, WorkstationRecipeRequirements {
     private static final Logger logger = LoggerFactory.getLogger(AbstractWorkstationRecipe.class);
+    private static final int DEFAULT_MAX_DISPLAYED_VARIANTS = 64;
 
     private List<IngredientCraftBehaviour<EntityRef>> ingredientBehaviours = new ArrayList<>();
     private List<IngredientCraftBehaviour<EntityRef>> toolBehaviours = new ArrayList<>();
@@ -45,6 +52,7 @@ public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe
 
     private float requiredHeat;
     private long processingDuration;
+    private int maxDisplayedVariants = DEFAULT_MAX_DISPLAYED_VARIANTS;
 
     private RecipeResultFactory resultFactory;
 
@@ -71,10 +79,87 @@ public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe
         this.requiredHeat = requiredHeat;
     }
 
+    public float getRequiredHeat() {
+        return requiredHeat;
+    }
+
     public void setProcessingDuration(long processingDuration) {
         this.processingDuration = processingDuration;
     }
 
+    /**
+     * Sets the maximum number of variants of this recipe (combinations of different ingredients and tools in the
+     * station) that are listed for display.
+     *
+     * @param maxDisplayedVariants
+     */
+    public void setMaxDisplayedVariants(int maxDisplayedVariants) {
+        this.maxDisplayedVariants = maxDisplayedVariants;
+    }
+
+    /**
+     * Returns the ingredient types (as in CraftingStationIngredientComponent) that have to be present in the station
+     * for this recipe to be craftable. Ingredients matched by other means are not included.
+     *
+     * @return
+     */
+    @Override
+    public Set<String> getRequiredIngredientTypes() {
+        Set<String> result = new HashSet<>();
+        for (IngredientCraftBehaviour<EntityRef> ingredientBehaviour : ingredientBehaviours) {
+            Predicate<EntityRef> matcher = getMatcher(ingredientBehaviour);
+            if (matcher instanceof CraftingStationIngredientPredicate) {
+                result.add(((CraftingStationIngredientPredicate) matcher).getItemType());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the tool types (as in CraftingStationToolComponent) that have to be present in the station
+     * for this recipe to be craftable. Tools matched by other means are not included.
+     *
+     * @return
+     */
+    @Override
+    public Set<String> getRequiredToolTypes() {
+        Set<String> result = new HashSet<>();
+        for (IngredientCraftBehaviour<EntityRef> toolBehaviour : toolBehaviours) {
+            Predicate<EntityRef> matcher = getMatcher(toolBehaviour);
+            if (matcher instanceof CraftingStationToolPredicate) {
+                result.add(((CraftingStationToolPredicate) matcher).getToolType());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the fluid types that have to be present in the station for this recipe to be craftable.
+     *
+     * @return
+     */
+    @Override
+    public Set<String> getRequiredFluidTypes() {
+        Set<String> result = new HashSet<>();
+        for (IngredientCraftBehaviour<String> fluidBehaviour : fluidBehaviours) {
+            if (fluidBehaviour instanceof ConsumeFluidBehaviour) {
+                result.add(((ConsumeFluidBehaviour) fluidBehaviour).getFluidType());
+            }
+        }
+        return result;
+    }
+
+    private Predicate<EntityRef> getMatcher(IngredientCraftBehaviour<EntityRef> behaviour) {
+        if (behaviour instanceof ConsumeItemCraftBehaviour) {
+            return ((ConsumeItemCraftBehaviour) behaviour).getMatcher();
+        } else if (behaviour instanceof ReduceDurabilityCraftBehaviour) {
+            return ((ReduceDurabilityCraftBehaviour) behaviour).getMatcher();
+        } else if (behaviour instanceof PresenceItemCraftBehaviour) {
+            return ((PresenceItemCraftBehaviour) behaviour).getMatcher();
+        }
+        return null;
+    }
+
     @Override
     public boolean hasAsComponent(EntityRef item) {
         for (IngredientCraftBehaviour<EntityRef> ingredientBehaviour : ingredientBehaviours) {
@@ -108,60 +193,117 @@ public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe
 
     @Override
     public List<? extends CraftingStationResult> getMatchingRecipeResultsForDisplay(EntityRef station) {
+        return getMatchingRecipeResultsForDisplay(new CraftingValidationContext(station));
+    }
+
+    @Override
+    public List<? extends CraftingStationResult> getMatchingRecipeResultsForDisplay(CraftingValidationContext context) {
         List<List<String>> listOfResults = new ArrayList<>();
 
         for (IngredientCraftBehaviour<?> behaviour : allBehaviours) {
-            if (!appendBehaviourMatches(station, listOfResults, behaviour)) {
+            if (!appendBehaviourMatches(context, listOfResults, behaviour)) {
                 return null;
             }
         }
 
-        List<Result> resultList = new LinkedList<>();
+        List<Result> resultList = new ArrayList<>();
 
-        List<List<String>> grouping = createParameterCombinations(listOfResults, 0);
-        for (List<String> groupingEntry : grouping) {
-            resultList.add(new Result(groupingEntry));
+        Iterator<List<String>> combinations = new ParameterCombinationIterator(listOfResults);
+        while (combinations.hasNext() && resultList.size() < maxDisplayedVariants) {
+            resultList.add(new Result(combinations.next()));
         }
 
         return resultList;
     }
 
-    private boolean appendBehaviourMatches(EntityRef station, List<List<String>> listOfResults, IngredientCraftBehaviour<?> ingredientBehaviour) {
-        List<String> validToCraft = ingredientBehaviour.getValidToCraft(station, 1);
+    private boolean appendBehaviourMatches(CraftingValidationContext context, List<List<String>> listOfResults, IngredientCraftBehaviour<?> ingredientBehaviour) {
+        List<String> validToCraft = ingredientBehaviour.getValidToCraft(context, 1);
         if (validToCraft.size() == 0) {
             return false;
         }
 
-        listOfResults.add(validToCraft);
+        listOfResults.add(new ArrayList<>(validToCraft));
         return true;
     }
 
-    private List<List<String>> createParameterCombinations(List<List<String>> listOfResults, int index) {
-        List<List<String>> result = new LinkedList<>();
-
-        List<String> parameters = listOfResults.get(index);
-        if (index + 1 < listOfResults.size()) {
-            for (String parameter : parameters) {
-                if (index + 1 < listOfResults.size()) {
-                    List<List<String>> nextParameterCombinations = createParameterCombinations(listOfResults, index + 1);
-                    for (List<String> followingParameterCombinations : nextParameterCombinations) {
-                        List<String> parameterCombination = new LinkedList<>();
-                        parameterCombination.add(parameter);
-                        parameterCombination.addAll(followingParameterCombinations);
-                        result.add(parameterCombination);
-                    }
-                }
+    @Override
+    public CraftingStationResult getResultByParameters(EntityRef station, List<String> resultParameters) {
+        return new Result(resultParameters);
+    }
+
+    @Override
+    public CraftingStationResult resolveResult(CraftingValidationContext context, List<String> resultParameters, int count) {
+        if (resultParameters.size() != allBehaviours.size()) {
+            throw new IllegalArgumentException("Invalid definition of the result, parameters: " + resultParameters.size() + ", allBehaviours: " + allBehaviours.size());
+        }
+
+        List<String> resolvedParameters = new ArrayList<>(resultParameters.size());
+        for (int i = 0; i < resultParameters.size(); i++) {
+            String resolvedParameter = resolveParameter(context, allBehaviours.get(i), ItemSlotParameter.getValuesPart(resultParameters.get(i)), count);
+            if (resolvedParameter == null) {
+                return null;
             }
-        } else {
-            result.add(parameters);
+            resolvedParameters.add(resolvedParameter);
         }
+        return new Result(resolvedParameters);
+    }
 
-        return result;
+    private String resolveParameter(CraftingValidationContext context, IngredientCraftBehaviour<?> behaviour, String valuesPart, int count) {
+        for (String parameter : behaviour.getValidToCraft(context, count)) {
+            if (ItemSlotParameter.getValuesPart(parameter).equals(valuesPart)) {
+                return parameter;
+            }
+        }
+        return null;
     }
 
-    @Override
-    public CraftingStationResult getResultByParameters(EntityRef station, List<String> resultParameters) {
-        return new Result(resultParameters);
+    /**
+     * Iterates over all the combinations of parameters, picking one parameter for each behaviour. Combinations are
+     * generated one at a time when requested, so the iteration can be stopped at any point without generating the
+     * remaining ones.
+     */
+    private static final class ParameterCombinationIterator implements Iterator<List<String>> {
+        private final List<List<String>> listOfResults;
+        private final int[] indices;
+        private boolean hasNext;
+
+        private ParameterCombinationIterator(List<List<String>> listOfResults) {
+            this.listOfResults = listOfResults;
+            this.indices = new int[listOfResults.size()];
+            this.hasNext = !listOfResults.isEmpty();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return hasNext;
+        }
+
+        @Override
+        public List<String> next() {
+            if (!hasNext) {
+                throw new NoSuchElementException();
+            }
+
+            List<String> combination = new ArrayList<>(indices.length);
+            for (int i = 0; i < indices.length; i++) {
+                combination.add(listOfResults.get(i).get(indices[i]));
+            }
+
+            // Advance the last behaviour's parameter first, carrying over to the previous ones
+            int index = indices.length - 1;
+            while (index >= 0 && ++indices[index] == listOfResults.get(index).size()) {
+                indices[index] = 0;
+                index--;
+            }
+            hasNext = index >= 0;
+
+            return combination;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
     }
 
     private class Result implements CraftingStationResult {
@@ -182,9 +324,10 @@ public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe
 
         @Override
         public int getMaxMultiplier(EntityRef entity) {
+            CraftingValidationContext context = new CraftingValidationContext(entity);
             int maxMultiplier = resultFactory.getMaxMultiplier(parameters);
             for (int i = 0; i < parameters.size(); i++) {
-                maxMultiplier = Math.min(maxMultiplier, allBehaviours.get(i).getMaxMultiplier(entity, parameters.get(i)));
+                maxMultiplier = Math.min(maxMultiplier, allBehaviours.get(i).getMaxMultiplier(context, parameters.get(i)));
             }
             return maxMultiplier;
         }
@@ -211,37 +354,34 @@ public abstract class AbstractWorkstationRecipe implements CraftingStationRecipe
 
         @Override
         public boolean isValidForCrafting(EntityRef station, int count) {
-            if (requiredHeat > 0) {
-                float heat = HeatUtils.calculateHeatForEntity(station, CoreRegistry.get(BlockEntityRegistry.class));
-                if (requiredHeat > heat) {
-                    return false;
+            return isValidForCrafting(new CraftingValidationContext(station), count);
+        }
+
+        @Override
+        public void appendConsumedItems(CraftingValidationContext context, int count, Map<Integer, Integer> consumedItems) {
+            for (int i = 0; i < parameters.size(); i++) {
+                IngredientCraftBehaviour<?> behaviour = allBehaviours.get(i);
+                if (behaviour instanceof ConsumeItemCraftBehaviour) {
+                    ((ConsumeItemCraftBehaviour) behaviour).appendConsumedItems(context, parameters.get(i), count, consumedItems);
                 }
             }
+        }
+
+        @Override
+        public boolean isValidForCrafting(CraftingValidationContext context, int count) {
+            if (requiredHeat > 0 && requiredHeat > context.getHeat()) {
+                return false;
+            }
 
             int index = 0;
             for (IngredientCraftBehaviour<?> behaviour : allBehaviours) {
-                if (!behaviour.isValidToCraft(station, parameters.get(index), count)) {
+                if (!behaviour.isValidToCraft(context, parameters.get(index), count)) {
                     return false;
                 }
                 index++;
             }
 
-            EntityRef resultItem = resultFactory.createResult(parameters, count);
-            try {
-                ItemComponent item = resultItem.getComponent(ItemComponent.class);
-                if (item.stackCount > item.maxStackSize) {
-                    return false;
-                }
-                for (int slot : WorkstationInventoryUtils.getAssignedSlots(station, "OUTPUT")) {
-                    EntityRef itemInResultSlot = InventoryUtils.getItemAt(station, slot);
-                    if (InventoryUtils.canStackInto(resultItem, itemInResultSlot)) {
-                        return true;
-                    }
-                }
-                return false;
-            } finally {
-                resultItem.destroy();
-            }
+            return context.canOutput(resultFactory.getResultDescriptor(parameters, count));
         }
 
         @Override
@@ -15,23 +15,53 @@
  */
 package org.terasology.crafting.system.recipe.workstation;
 
-import com.google.common.base.Predicate;
 import org.terasology.crafting.component.CraftingStationIngredientComponent;
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
-public class CraftingStationIngredientPredicate implements Predicate<EntityRef> {
+public class CraftingStationIngredientPredicate extends PrefabClassifiedPredicate {
     private String itemType;
 
     public CraftingStationIngredientPredicate(String itemType) {
         this.itemType = itemType;
     }
 
+    public String getItemType() {
+        return itemType;
+    }
+
     @Override
-    public boolean apply(EntityRef input) {
-        CraftingStationIngredientComponent component = input.getComponent(CraftingStationIngredientComponent.class);
+    public boolean applyToPrefab(Prefab prefab) {
+        return isIngredient(prefab.getComponent(CraftingStationIngredientComponent.class));
+    }
+
+    @Override
+    protected boolean applyToItem(EntityRef item) {
+        return isIngredient(item.getComponent(CraftingStationIngredientComponent.class));
+    }
+
+    private boolean isIngredient(CraftingStationIngredientComponent component) {
         return component != null && component.type.equals(itemType);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CraftingStationIngredientPredicate that = (CraftingStationIngredientPredicate) o;
+        return itemType.equals(that.itemType);
+    }
+
+    @Override
+    public int hashCode() {
+        return itemType.hashCode();
+    }
 }
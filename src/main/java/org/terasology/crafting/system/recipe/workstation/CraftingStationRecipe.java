@@ -15,10 +15,12 @@
  */
 package org.terasology.crafting.system.recipe.workstation;
 
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
 import org.terasology.crafting.system.recipe.render.CraftProcessDisplay;
 import org.terasology.entitySystem.entity.EntityRef;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
@@ -50,13 +52,52 @@ public interface CraftingStationRecipe {
 
     List<? extends CraftingStationResult> getMatchingRecipeResultsForDisplay(EntityRef station);
 
+    /**
+     * Same as getMatchingRecipeResultsForDisplay(EntityRef), but reads the station through the context, so that
+     * multiple recipes can be matched against the same station reading it only once.
+     *
+     * @param context
+     * @return
+     */
+    List<? extends CraftingStationResult> getMatchingRecipeResultsForDisplay(CraftingValidationContext context);
+
     CraftingStationResult getResultByParameters(EntityRef station, List<String> resultParameters);
 
+    /**
+     * Returns the result crafting the same as the result with the specified parameters, with the ingredients and
+     * tools taken from wherever they are in the station now. Parameters are matched by their values only (see
+     * ItemSlotParameter.getValuesPart), their slots are ignored.
+     *
+     * @param context
+     * @param resultParameters
+     * @param count
+     * @return the result, or null if the station does not hold the ingredients and tools for count crafts.
+     */
+    CraftingStationResult resolveResult(CraftingValidationContext context, List<String> resultParameters, int count);
+
     public interface CraftingStationResult extends CraftProcessDisplay {
         List<String> getResultParameters();
 
         boolean startCrafting(EntityRef station, int count);
 
         EntityRef finishCrafting(EntityRef station, int count);
+
+        /**
+         * Same as isValidForCrafting(EntityRef, int), but reads the station through the context.
+         *
+         * @param context
+         * @param count
+         * @return
+         */
+        boolean isValidForCrafting(CraftingValidationContext context, int count);
+
+        /**
+         * Adds the number of items crafting the result count times takes from each slot of the station to the map.
+         *
+         * @param context
+         * @param count
+         * @param consumedItems
+         */
+        void appendConsumedItems(CraftingValidationContext context, int count, Map<Integer, Integer> consumedItems);
     }
 }
@@ -15,23 +15,53 @@
  */
 package org.terasology.crafting.system.recipe.workstation;
 
-import com.google.common.base.Predicate;
 import org.terasology.crafting.component.CraftingStationToolComponent;
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
-public class CraftingStationToolPredicate implements Predicate<EntityRef> {
+public class CraftingStationToolPredicate extends PrefabClassifiedPredicate {
     private String toolType;
 
     public CraftingStationToolPredicate(String toolType) {
         this.toolType = toolType;
     }
 
+    public String getToolType() {
+        return toolType;
+    }
+
     @Override
-    public boolean apply(EntityRef input) {
-        CraftingStationToolComponent component = input.getComponent(CraftingStationToolComponent.class);
+    public boolean applyToPrefab(Prefab prefab) {
+        return isTool(prefab.getComponent(CraftingStationToolComponent.class));
+    }
+
+    @Override
+    protected boolean applyToItem(EntityRef item) {
+        return isTool(item.getComponent(CraftingStationToolComponent.class));
+    }
+
+    private boolean isTool(CraftingStationToolComponent component) {
         return component != null && component.type.contains(toolType);
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        CraftingStationToolPredicate that = (CraftingStationToolPredicate) o;
+        return toolType.equals(that.toolType);
+    }
+
+    @Override
+    public int hashCode() {
+        return toolType.hashCode();
+    }
 }
@@ -15,10 +15,10 @@
  */
 package org.terasology.crafting.system.recipe.workstation;
 
+import org.terasology.crafting.system.CraftBehaviourRegistry;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeFluidBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.IngredientCraftBehaviour;
-import org.terasology.crafting.system.recipe.behaviour.InventorySlotTypeResolver;
 import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
 import org.terasology.crafting.system.recipe.render.CraftIngredientRenderer;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
@@ -41,17 +41,22 @@ import java.util.List;
  */
 public class DefaultWorkstationRecipe extends AbstractWorkstationRecipe {
     public void addIngredient(String type, int count) {
-        final ConsumeItemCraftBehaviour behaviour = new ConsumeItemCraftBehaviour(new CraftingStationIngredientPredicate(type), count, new InventorySlotTypeResolver("INPUT"));
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
+        final ConsumeItemCraftBehaviour behaviour = behaviourRegistry.consumeItem(new CraftingStationIngredientPredicate(type), count,
+                behaviourRegistry.slotTypeResolver("INPUT"));
         addIngredientBehaviour(behaviour);
     }
 
     public void addRequiredTool(String toolType, int durability) {
-        final ReduceDurabilityCraftBehaviour behaviour = new ReduceDurabilityCraftBehaviour(new CraftingStationToolPredicate(toolType), durability, new InventorySlotTypeResolver("TOOL"));
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
+        final ReduceDurabilityCraftBehaviour behaviour = behaviourRegistry.reduceDurability(new CraftingStationToolPredicate(toolType), durability,
+                behaviourRegistry.slotTypeResolver("TOOL"));
         addToolBehaviour(behaviour);
     }
 
     public void addFluid(String fluidType, float volume) {
-        final ConsumeFluidBehaviour behaviour = new ConsumeFluidBehaviour(fluidType, volume, new InventorySlotTypeResolver("FLUID_INPUT"));
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
+        final ConsumeFluidBehaviour behaviour = new ConsumeFluidBehaviour(fluidType, volume, behaviourRegistry.slotTypeResolver("FLUID_INPUT"));
         addFluidBehaviour(behaviour);
     }
 }
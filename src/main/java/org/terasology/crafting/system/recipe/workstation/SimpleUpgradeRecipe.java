@@ -1,6 +1,7 @@
 package org.terasology.crafting.system.recipe.workstation;
 
-import org.terasology.crafting.component.CraftingStationIngredientComponent;
+import org.terasology.crafting.system.CraftingTypeRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
 import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.inventory.InventoryComponent;
@@ -16,21 +17,24 @@ import org.terasology.world.block.Block;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.regions.BlockRegionComponent;
 
-import java.util.LinkedHashMap;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
 public class SimpleUpgradeRecipe implements UpgradeRecipe {
-    private Map<String, Integer> ingredientsMap = new LinkedHashMap<>();
+    private int[] ingredientTypeIds = new int[0];
+    private int[] ingredientCounts = new int[0];
+    private BitSet ingredientTypes = new BitSet();
     private String resultStationType;
     private String resultStationPrefab;
     private String resultBlockUri;
 
     private InventoryManager inventoryManager = CoreRegistry.get(InventoryManager.class);
+    private CraftingTypeRegistry craftingTypeRegistry = CoreRegistry.get(CraftingTypeRegistry.class);
 
     public SimpleUpgradeRecipe(String resultStationType, String resultStationPrefab, String resultBlockUri) {
         this.resultStationType = resultStationType;
@@ -39,20 +43,32 @@ public class SimpleUpgradeRecipe implements UpgradeRecipe {
     }
 
     public void addIngredient(String type, int count) {
-        ingredientsMap.put(type, count);
+        int typeId = craftingTypeRegistry.getIngredientTypeId(type);
+        for (int i = 0; i < ingredientTypeIds.length; i++) {
+            if (ingredientTypeIds[i] == typeId) {
+                ingredientCounts[i] = count;
+                return;
+            }
+        }
+
+        ingredientTypeIds = Arrays.copyOf(ingredientTypeIds, ingredientTypeIds.length + 1);
+        ingredientCounts = Arrays.copyOf(ingredientCounts, ingredientCounts.length + 1);
+        ingredientTypeIds[ingredientTypeIds.length - 1] = typeId;
+        ingredientCounts[ingredientCounts.length - 1] = count;
+        ingredientTypes.set(typeId);
     }
 
     @Override
     public boolean isUpgradeComponent(EntityRef item) {
-        CraftingStationIngredientComponent ingredient = item.getComponent(CraftingStationIngredientComponent.class);
-        return ingredient != null && ingredientsMap.containsKey(ingredient.type);
+        int typeId = craftingTypeRegistry.getItemIngredientTypeId(item);
+        return typeId != CraftingTypeRegistry.NO_TYPE && ingredientTypes.get(typeId);
     }
 
     @Override
     public UpgradeResult getMatchingUpgradeResult(EntityRef station) {
         List<Integer> resultSlots = new LinkedList<>();
-        for (Map.Entry<String, Integer> ingredientCount : ingredientsMap.entrySet()) {
-            int slotNo = hasItem(station, ingredientCount.getKey(), ingredientCount.getValue());
+        for (int i = 0; i < ingredientTypeIds.length; i++) {
+            int slotNo = hasItem(station, ingredientTypeIds[i], ingredientCounts[i]);
             if (slotNo != -1) {
                 resultSlots.add(slotNo);
             } else {
@@ -63,9 +79,9 @@ public class SimpleUpgradeRecipe implements UpgradeRecipe {
         return new Result(resultSlots);
     }
 
-    private int hasItem(EntityRef station, String itemType, int count) {
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(station, "UPGRADE")) {
-            if (hasItemInSlot(station, itemType, slot, count)) {
+    private int hasItem(EntityRef station, int itemTypeId, int count) {
+        for (int slot : CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(station).getSlots("UPGRADE")) {
+            if (hasItemInSlot(station, itemTypeId, slot, count)) {
                 return slot;
             }
         }
@@ -73,10 +89,10 @@ public class SimpleUpgradeRecipe implements UpgradeRecipe {
         return -1;
     }
 
-    private boolean hasItemInSlot(EntityRef station, String itemType, int slot, int count) {
+    private boolean hasItemInSlot(EntityRef station, int itemTypeId, int slot, int count) {
         EntityRef item = inventoryManager.getItemInSlot(station, slot);
-        CraftingStationIngredientComponent component = item.getComponent(CraftingStationIngredientComponent.class);
-        if (component != null && component.type.equals(itemType) && item.getComponent(ItemComponent.class).stackCount >= count) {
+        if (craftingTypeRegistry.getItemIngredientTypeId(item) == itemTypeId
+                && item.getComponent(ItemComponent.class).stackCount >= count) {
             return true;
         }
         return false;
@@ -101,10 +117,8 @@ public class SimpleUpgradeRecipe implements UpgradeRecipe {
                 return EntityRef.NULL;
             }
 
-            int index = 0;
-            for (Map.Entry<String, Integer> ingredientCount : ingredientsMap.entrySet()) {
-                inventoryManager.removeItem(station, station, inventoryManager.getItemInSlot(station, items.get(index)), true, ingredientCount.getValue());
-                index++;
+            for (int i = 0; i < ingredientTypeIds.length; i++) {
+                inventoryManager.removeItem(station, station, inventoryManager.getItemInSlot(station, items.get(i)), true, ingredientCounts[i]);
             }
 
             WorldProvider worldProvider = CoreRegistry.get(WorldProvider.class);
@@ -151,12 +165,10 @@ public class SimpleUpgradeRecipe implements UpgradeRecipe {
         }
 
         private boolean validateCreation(EntityRef station) {
-            int index = 0;
-            for (Map.Entry<String, Integer> ingredientCount : ingredientsMap.entrySet()) {
-                if (!hasItemInSlot(station, ingredientCount.getKey(), items.get(index), ingredientCount.getValue())) {
+            for (int i = 0; i < ingredientTypeIds.length; i++) {
+                if (!hasItemInSlot(station, ingredientTypeIds[i], items.get(i), ingredientCounts[i])) {
                     return false;
                 }
-                index++;
             }
 
             return true;
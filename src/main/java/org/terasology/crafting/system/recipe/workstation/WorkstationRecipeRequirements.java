@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.system.recipe.workstation;
+
+import java.util.Set;
+
+/**
+ * Types a workstation recipe requires to be present in the station, used to index the recipes. Implemented by the
+ * recipes themselves, and by the suppliers of lazily created recipes, so that they can be indexed without being
+ * created.
+ */
+public interface WorkstationRecipeRequirements {
+    /**
+     * Returns the ingredient types (as in CraftingStationIngredientComponent) that have to be present in the station
+     * for the recipe to be craftable.
+     *
+     * @return
+     */
+    Set<String> getRequiredIngredientTypes();
+
+    /**
+     * Returns the tool types (as in CraftingStationToolComponent) that have to be present in the station for the recipe
+     * to be craftable.
+     *
+     * @return
+     */
+    Set<String> getRequiredToolTypes();
+
+    /**
+     * Returns the fluid types that have to be present in the station for the recipe to be craftable.
+     *
+     * @return
+     */
+    Set<String> getRequiredFluidTypes();
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.ui;
+
+import com.google.common.collect.Multimap;
+import org.terasology.crafting.system.recipe.hand.CraftInHandRecipe;
+import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Keeps the recipes available in stations and to characters displayed in the UI. The recipes are recalculated only
+ * after a change of the inventory, fluids or heat of the entity, and only the recipes affected by the change are
+ * recalculated, so the widgets do no recipe work on frames where nothing changed.
+ */
+public interface RecipeAvailabilityCache {
+    /**
+     * Returns the version of the recipes available in the station, the version changes only when the available
+     * recipes change.
+     *
+     * @param station
+     * @return
+     */
+    int getStationRecipesVersion(EntityRef station);
+
+    /**
+     * Returns the recipes available in the station, keyed by recipe id, in the order of registration.
+     *
+     * @param station
+     * @return
+     */
+    Multimap<String, CraftingStationRecipe.CraftingStationResult> getStationRecipes(EntityRef station);
+
+    /**
+     * Returns the version of the recipes the character can craft in hand, the version changes only when the
+     * available recipes change.
+     *
+     * @param character
+     * @return
+     */
+    int getCraftInHandRecipesVersion(EntityRef character);
+
+    /**
+     * Returns the recipes the character can craft in hand, keyed by recipe id, in the order of registration.
+     *
+     * @param character
+     * @return
+     */
+    Multimap<String, CraftInHandRecipe.CraftInHandResult> getCraftInHandRecipes(EntityRef character);
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.crafting.ui;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.LinkedHashMultimap;
+import com.google.common.collect.Multimap;
+import org.terasology.crafting.system.CraftInHandRecipeRegistry;
+import org.terasology.crafting.system.CraftingStationRecipeIndex;
+import org.terasology.crafting.system.CraftingWorkstationProcess;
+import org.terasology.crafting.system.recipe.behaviour.CraftingValidationContext;
+import org.terasology.crafting.system.recipe.hand.CraftInHandRecipe;
+import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.fluid.component.FluidInventoryComponent;
+import org.terasology.heat.HeatThresholdRegistry;
+import org.terasology.heat.HeatUtils;
+import org.terasology.logic.characters.CharacterComponent;
+import org.terasology.logic.inventory.InventoryComponent;
+import org.terasology.logic.inventory.InventoryUtils;
+import org.terasology.logic.inventory.ItemComponent;
+import org.terasology.logic.inventory.events.InventorySlotChangedEvent;
+import org.terasology.logic.inventory.events.InventorySlotStackSizeChangedEvent;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.workstation.component.WorkstationComponent;
+import org.terasology.world.BlockEntityRegistry;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tool durability is not tracked, as it changes on the tool and not on the station. A worn out tool is rejected
+ * when crafting is attempted, and destroyed tools leave the slot, which is tracked.
+ * <p/>
+ * Only replicated state is used to invalidate the cached recipes (changes of the inventory and item components, and
+ * the heat calculated from the heat components), as events sent by the authority systems do not reach remote clients.
+ */
+@RegisterSystem(RegisterMode.CLIENT)
+@Share(value = RecipeAvailabilityCache.class)
+public class RecipeAvailabilityCacheSystem extends BaseComponentSystem implements RecipeAvailabilityCache {
+    @In
+    private CraftingStationRecipeIndex recipeIndex;
+    @In
+    private CraftInHandRecipeRegistry craftInHandRecipeRegistry;
+    @In
+    private HeatThresholdRegistry heatThresholdRegistry;
+    @In
+    private BlockEntityRegistry blockEntityRegistry;
+
+    private Map<EntityRef, StationRecipes> stationRecipes = new HashMap<>();
+    private Map<EntityRef, CraftInHandRecipes> craftInHandRecipes = new HashMap<>();
+
+    @Override
+    public int getStationRecipesVersion(EntityRef station) {
+        return getUpToDateStationRecipes(station).version;
+    }
+
+    @Override
+    public Multimap<String, CraftingStationRecipe.CraftingStationResult> getStationRecipes(EntityRef station) {
+        StationRecipes recipes = getUpToDateStationRecipes(station);
+        if (recipes.view == null) {
+            recipes.view = LinkedHashMultimap.create();
+            for (CraftingWorkstationProcess process : recipeIndex.getProcesses(station)) {
+                List<? extends CraftingStationRecipe.CraftingStationResult> results = recipes.results.get(process);
+                if (results != null) {
+                    recipes.view.putAll(process.getId(), results);
+                }
+            }
+        }
+        return recipes.view;
+    }
+
+    @Override
+    public int getCraftInHandRecipesVersion(EntityRef character) {
+        return getUpToDateCraftInHandRecipes(character).version;
+    }
+
+    @Override
+    public Multimap<String, CraftInHandRecipe.CraftInHandResult> getCraftInHandRecipes(EntityRef character) {
+        return getUpToDateCraftInHandRecipes(character).view;
+    }
+
+    private StationRecipes getUpToDateStationRecipes(EntityRef station) {
+        StationRecipes recipes = stationRecipes.get(station);
+        if (recipes == null) {
+            recipes = new StationRecipes();
+            InventoryComponent inventory = station.getComponent(InventoryComponent.class);
+            if (inventory != null) {
+                recipes.slotItems = new ArrayList<>(inventory.itemSlots);
+            }
+            stationRecipes.put(station, recipes);
+        }
+
+        // Heat changes over time without any change to the components, so the band it is in is checked on each query
+        float[] thresholds = heatThresholdRegistry.getHeatThresholds(station);
+        if (thresholds.length > 0) {
+            int heatBand = getHeatBand(thresholds, HeatUtils.calculateHeatForEntity(station, blockEntityRegistry));
+            if (heatBand != recipes.heatBand) {
+                recipes.heatBand = heatBand;
+                recipes.allDirty = true;
+            }
+        }
+
+        if (recipes.allDirty) {
+            recipes.results.clear();
+            CraftingValidationContext context = new CraftingValidationContext(station);
+            for (CraftingWorkstationProcess process : recipeIndex.getCandidateProcesses(station)) {
+                updateResults(context, recipes, process);
+            }
+        } else if (!recipes.dirty.isEmpty()) {
+            CraftingValidationContext context = new CraftingValidationContext(station);
+            for (CraftingWorkstationProcess process : recipes.dirty) {
+                updateResults(context, recipes, process);
+            }
+        } else {
+            return recipes;
+        }
+        recipes.allDirty = false;
+        recipes.dirty.clear();
+
+        Multimap<String, List<String>> parameters = HashMultimap.create();
+        for (Map.Entry<CraftingWorkstationProcess, List<? extends CraftingStationRecipe.CraftingStationResult>> processResults : recipes.results.entrySet()) {
+            for (CraftingStationRecipe.CraftingStationResult result : processResults.getValue()) {
+                parameters.put(processResults.getKey().getId(), result.getResultParameters());
+            }
+        }
+        if (!parameters.equals(recipes.parameters)) {
+            recipes.parameters = parameters;
+            recipes.view = null;
+            recipes.version++;
+        }
+
+        return recipes;
+    }
+
+    private int getHeatBand(float[] thresholds, float heat) {
+        int heatBand = 0;
+        while (heatBand < thresholds.length && thresholds[heatBand] <= heat) {
+            heatBand++;
+        }
+        return heatBand;
+    }
+
+    private void updateResults(CraftingValidationContext context, StationRecipes recipes, CraftingWorkstationProcess process) {
+        List<? extends CraftingStationRecipe.CraftingStationResult> results = process.getCraftingWorkstationRecipe().getMatchingRecipeResultsForDisplay(context);
+        if (results != null && !results.isEmpty()) {
+            recipes.results.put(process, results);
+        } else {
+            recipes.results.remove(process);
+        }
+    }
+
+    private CraftInHandRecipes getUpToDateCraftInHandRecipes(EntityRef character) {
+        CraftInHandRecipes recipes = craftInHandRecipes.get(character);
+        if (recipes == null) {
+            recipes = new CraftInHandRecipes();
+            craftInHandRecipes.put(character, recipes);
+        }
+
+        if (recipes.dirty) {
+            recipes.dirty = false;
+
+            Multimap<String, CraftInHandRecipe.CraftInHandResult> view = LinkedHashMultimap.create();
+            Multimap<String, List<String>> parameters = HashMultimap.create();
+            for (Map.Entry<String, CraftInHandRecipe> craftInHandRecipe : craftInHandRecipeRegistry.getRecipes().entrySet()) {
+                String recipeId = craftInHandRecipe.getKey();
+                List<CraftInHandRecipe.CraftInHandResult> results = craftInHandRecipe.getValue().getMatchingRecipeResults(character);
+                if (results != null) {
+                    for (CraftInHandRecipe.CraftInHandResult result : results) {
+                        view.put(recipeId, result);
+                        parameters.put(recipeId, result.getParameters());
+                    }
+                }
+            }
+            if (!parameters.equals(recipes.parameters)) {
+                recipes.parameters = parameters;
+                recipes.view = view;
+                recipes.version++;
+            }
+        }
+
+        return recipes;
+    }
+
+    private void stationItemChanged(EntityRef station, EntityRef item) {
+        if (!item.exists()) {
+            // The item was destroyed or merged into another stack, so it can't be told which recipes it was used by
+            if (item != EntityRef.NULL) {
+                stationChanged(station);
+            }
+            return;
+        }
+        StationRecipes recipes = stationRecipes.get(station);
+        if (recipes != null && !recipes.allDirty) {
+            for (CraftingWorkstationProcess process : recipeIndex.getProcesses(station)) {
+                CraftingStationRecipe recipe = process.getCraftingWorkstationRecipe();
+                if (recipe.hasAsComponent(item) || recipe.hasAsTool(item)) {
+                    recipes.dirty.add(process);
+                }
+            }
+        }
+    }
+
+    private void stationChanged(EntityRef station) {
+        StationRecipes recipes = stationRecipes.get(station);
+        if (recipes != null) {
+            recipes.allDirty = true;
+        }
+    }
+
+    private void characterChanged(EntityRef character) {
+        CraftInHandRecipes recipes = craftInHandRecipes.get(character);
+        if (recipes != null) {
+            recipes.dirty = true;
+        }
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, InventoryComponent.class})
+    public void stationInventoryChanged(OnChangedComponent event, EntityRef station, InventoryComponent inventory) {
+        StationRecipes recipes = stationRecipes.get(station);
+        if (recipes == null) {
+            return;
+        }
+        if (recipes.slotItems == null || recipes.slotItems.size() != inventory.itemSlots.size()) {
+            stationChanged(station);
+        } else {
+            for (int slot = 0; slot < inventory.itemSlots.size(); slot++) {
+                EntityRef oldItem = recipes.slotItems.get(slot);
+                EntityRef newItem = inventory.itemSlots.get(slot);
+                if (!oldItem.equals(newItem)) {
+                    stationItemChanged(station, oldItem);
+                    stationItemChanged(station, newItem);
+                }
+            }
+        }
+        recipes.slotItems = new ArrayList<>(inventory.itemSlots);
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class})
+    public void stationStackSizeChanged(InventorySlotStackSizeChangedEvent event, EntityRef station) {
+        stationItemChanged(station, InventoryUtils.getItemAt(station, event.getSlot()));
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class, FluidInventoryComponent.class})
+    public void stationFluidsChanged(OnChangedComponent event, EntityRef station) {
+        stationChanged(station);
+    }
+
+    @ReceiveEvent(components = {ItemComponent.class})
+    public void itemChanged(OnChangedComponent event, EntityRef item) {
+        EntityRef owner = item.getOwner();
+        if (stationRecipes.containsKey(owner)) {
+            stationItemChanged(owner, item);
+        } else if (craftInHandRecipes.containsKey(owner)) {
+            characterChanged(owner);
+        }
+    }
+
+    @ReceiveEvent(components = {WorkstationComponent.class})
+    public void stationDeactivated(BeforeDeactivateComponent event, EntityRef station) {
+        stationRecipes.remove(station);
+    }
+
+    @ReceiveEvent(components = {CharacterComponent.class})
+    public void characterSlotChanged(InventorySlotChangedEvent event, EntityRef character) {
+        characterChanged(character);
+    }
+
+    @ReceiveEvent(components = {CharacterComponent.class, InventoryComponent.class})
+    public void characterInventoryChanged(OnChangedComponent event, EntityRef character) {
+        characterChanged(character);
+    }
+
+    @ReceiveEvent(components = {CharacterComponent.class})
+    public void characterStackSizeChanged(InventorySlotStackSizeChangedEvent event, EntityRef character) {
+        characterChanged(character);
+    }
+
+    @ReceiveEvent(components = {CharacterComponent.class})
+    public void characterDeactivated(BeforeDeactivateComponent event, EntityRef character) {
+        craftInHandRecipes.remove(character);
+    }
+
+    private static final class StationRecipes {
+        private boolean allDirty = true;
+        private Set<CraftingWorkstationProcess> dirty = new HashSet<>();
+        private List<EntityRef> slotItems;
+        private int heatBand = -1;
+        private Map<CraftingWorkstationProcess, List<? extends CraftingStationRecipe.CraftingStationResult>> results = new HashMap<>();
+        private Multimap<String, List<String>> parameters;
+        private Multimap<String, CraftingStationRecipe.CraftingStationResult> view;
+        private int version;
+    }
+
+    private static final class CraftInHandRecipes {
+        private boolean dirty = true;
+        private Multimap<String, List<String>> parameters;
+        private Multimap<String, CraftInHandRecipe.CraftInHandResult> view;
+        private int version;
+    }
+}
@@ -15,13 +15,11 @@
  */
 package org.terasology.crafting.ui.hand;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import org.terasology.crafting.event.UserCraftInHandRequest;
-import org.terasology.crafting.system.CraftInHandRecipeRegistry;
 import org.terasology.crafting.system.recipe.hand.CraftInHandRecipe;
 import org.terasology.crafting.ui.CraftRecipeWidget;
 import org.terasology.crafting.ui.CreationCallback;
+import org.terasology.crafting.ui.RecipeAvailabilityCache;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.Vector2i;
@@ -39,8 +37,8 @@ import java.util.Map;
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
 public class CraftInHandAvailableRecipesWidget extends CoreWidget {
-    private Multimap<String, List<String>> displayedRecipes = HashMultimap.create();
-    private CraftInHandRecipeRegistry registry;
+    private int displayedRecipesVersion = -1;
+    private RecipeAvailabilityCache recipeAvailabilityCache;
     private EntityRef character;
 
     private ColumnLayout layout;
@@ -49,26 +47,13 @@ public class CraftInHandAvailableRecipesWidget extends CoreWidget {
         layout = new ColumnLayout();
         layout.setColumns(1);
 
-        registry = CoreRegistry.get(CraftInHandRecipeRegistry.class);
+        recipeAvailabilityCache = CoreRegistry.get(RecipeAvailabilityCache.class);
         character = CoreRegistry.get(LocalPlayer.class).getCharacterEntity();
     }
 
     @Override
     public void update(float delta) {
-        // TODO: Naive approach by comparing all the possible recipes to those currently displayed
-        Multimap<String, List<String>> recipes = HashMultimap.create();
-        for (Map.Entry<String, CraftInHandRecipe> craftInHandRecipe : registry.getRecipes().entrySet()) {
-            String recipeId = craftInHandRecipe.getKey();
-            List<CraftInHandRecipe.CraftInHandResult> results = craftInHandRecipe.getValue().getMatchingRecipeResults(character);
-            if (results != null) {
-                for (CraftInHandRecipe.CraftInHandResult result : results) {
-                    List<String> parameters = result.getParameters();
-                    recipes.put(recipeId, parameters);
-                }
-            }
-        }
-
-        if (!recipes.equals(displayedRecipes)) {
+        if (recipeAvailabilityCache.getCraftInHandRecipesVersion(character) != displayedRecipesVersion) {
             reloadRecipes();
         }
     }
@@ -94,24 +79,19 @@ public class CraftInHandAvailableRecipesWidget extends CoreWidget {
     }
 
     public void loadRecipes() {
-        displayedRecipes.clear();
-        for (Map.Entry<String, CraftInHandRecipe> craftInHandRecipe : registry.getRecipes().entrySet()) {
-            final String recipeId = craftInHandRecipe.getKey();
-            List<CraftInHandRecipe.CraftInHandResult> results = craftInHandRecipe.getValue().getMatchingRecipeResults(character);
-            if (results != null) {
-                for (CraftInHandRecipe.CraftInHandResult result : results) {
-                    final List<String> parameters = result.getParameters();
-                    displayedRecipes.put(recipeId, parameters);
-                    CraftRecipeWidget recipeDisplay = new CraftRecipeWidget(0, character, result,
-                            new CreationCallback() {
-                                @Override
-                                public void create(int count) {
-                                    character.send(new UserCraftInHandRequest(recipeId, parameters, count));
-                                }
-                            });
-                    layout.addWidget(recipeDisplay);
-                }
-            }
+        displayedRecipesVersion = recipeAvailabilityCache.getCraftInHandRecipesVersion(character);
+        for (Map.Entry<String, CraftInHandRecipe.CraftInHandResult> recipeResult : recipeAvailabilityCache.getCraftInHandRecipes(character).entries()) {
+            final String recipeId = recipeResult.getKey();
+            CraftInHandRecipe.CraftInHandResult result = recipeResult.getValue();
+            final List<String> parameters = result.getParameters();
+            CraftRecipeWidget recipeDisplay = new CraftRecipeWidget(0, character, result,
+                    new CreationCallback() {
+                        @Override
+                        public void create(int count) {
+                            character.send(new UserCraftInHandRequest(recipeId, parameters, count));
+                        }
+                    });
+            layout.addWidget(recipeDisplay);
         }
     }
 }
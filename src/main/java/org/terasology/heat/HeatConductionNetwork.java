@@ -0,0 +1,228 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat;
+
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.heat.component.HeatConductorComponent;
+import org.terasology.heat.component.HeatConsumerComponent;
+import org.terasology.heat.component.HeatProducerComponent;
+import org.terasology.registry.CoreRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Solves the heat of heat conductors. Conductors linked with each other form a network that is solved as a whole with
+ * Gauss-Seidel iterations, warm started from its previous solution. A solution is reused until the game time changes,
+ * and a network is rebuilt only when the links of one of its conductors change.
+ */
+class HeatConductionNetwork {
+    private static final int MAX_ITERATIONS = 50;
+    private static final float CONVERGENCE_THRESHOLD = 0.01f;
+
+    private HeatLinkRegistryImpl heatLinkRegistry;
+    private Map<EntityRef, Network> networks = new HashMap<>();
+
+    HeatConductionNetwork(HeatLinkRegistryImpl heatLinkRegistry) {
+        this.heatLinkRegistry = heatLinkRegistry;
+    }
+
+    public float getHeat(EntityRef conductor) {
+        Network network = getNetwork(conductor);
+        network.solve(CoreRegistry.get(Time.class).getGameTimeInMs());
+        return network.heat[network.indexes.get(conductor)];
+    }
+
+    public Collection<EntityRef> getHeatedConsumers(EntityRef conductor) {
+        return getNetwork(conductor).heatedConsumers;
+    }
+
+    public Collection<EntityRef> getHeatSources(EntityRef conductor) {
+        return getNetwork(conductor).producerList;
+    }
+
+    public void invalidate(EntityRef entity) {
+        Network network = networks.get(entity);
+        if (network != null) {
+            for (EntityRef member : network.members) {
+                networks.remove(member);
+            }
+        }
+    }
+
+    private Network getNetwork(EntityRef conductor) {
+        Network network = networks.get(conductor);
+        if (network == null) {
+            network = new Network(collectMembers(conductor));
+            for (EntityRef member : network.members) {
+                networks.put(member, network);
+            }
+        }
+        return network;
+    }
+
+    private List<EntityRef> collectMembers(EntityRef conductor) {
+        Set<EntityRef> members = new LinkedHashSet<>();
+        List<EntityRef> toVisit = new LinkedList<>();
+        members.add(conductor);
+        toVisit.add(conductor);
+        while (!toVisit.isEmpty()) {
+            EntityRef member = toVisit.remove(0);
+            for (EntityRef neighbour : heatLinkRegistry.getHeatSources(member)) {
+                if (neighbour.hasComponent(HeatConductorComponent.class) && members.add(neighbour)) {
+                    toVisit.add(neighbour);
+                }
+            }
+            for (EntityRef neighbour : heatLinkRegistry.getHeatReceivers(member)) {
+                if (neighbour.hasComponent(HeatConductorComponent.class) && members.add(neighbour)) {
+                    toVisit.add(neighbour);
+                }
+            }
+        }
+        return new ArrayList<>(members);
+    }
+
+    private final class Network {
+        private EntityRef[] members;
+        private Map<EntityRef, Integer> indexes = new HashMap<>();
+        private float[] efficiencies;
+        private float[] heat;
+
+        // Sources of member i are at [sourceStart[i], sourceStart[i + 1]) in the source arrays, indexing either the
+        // members or the producers
+        private int[] conductorSourceStart;
+        private int[] conductorSources;
+        private int[] producerSourceStart;
+        private int[] producerSources;
+
+        private EntityRef[] producers;
+        private float[] producerHeat;
+        private List<EntityRef> producerList;
+        private List<EntityRef> heatedConsumers;
+
+        private long solvedTime = -1;
+
+        private Network(List<EntityRef> memberList) {
+            int size = memberList.size();
+            members = memberList.toArray(new EntityRef[size]);
+            efficiencies = new float[size];
+            heat = new float[size];
+            for (int i = 0; i < size; i++) {
+                indexes.put(members[i], i);
+                HeatConductorComponent conductor = members[i].getComponent(HeatConductorComponent.class);
+                efficiencies[i] = conductor != null ? conductor.heatConductionEfficiency : 0;
+                heat[i] = 20;
+            }
+
+            Map<EntityRef, Integer> producerIndexes = new HashMap<>();
+            List<Integer> conductorSourceList = new ArrayList<>();
+            List<Integer> producerSourceList = new ArrayList<>();
+            Set<EntityRef> consumers = new LinkedHashSet<>();
+            conductorSourceStart = new int[size + 1];
+            producerSourceStart = new int[size + 1];
+            for (int i = 0; i < size; i++) {
+                conductorSourceStart[i] = conductorSourceList.size();
+                producerSourceStart[i] = producerSourceList.size();
+                for (EntityRef source : heatLinkRegistry.getHeatSources(members[i])) {
+                    if (source.hasComponent(HeatProducerComponent.class)) {
+                        Integer producerIndex = producerIndexes.get(source);
+                        if (producerIndex == null) {
+                            producerIndex = producerIndexes.size();
+                            producerIndexes.put(source, producerIndex);
+                        }
+                        producerSourceList.add(producerIndex);
+                    } else {
+                        Integer memberIndex = indexes.get(source);
+                        if (memberIndex != null) {
+                            conductorSourceList.add(memberIndex);
+                        }
+                    }
+                }
+                for (EntityRef receiver : heatLinkRegistry.getHeatReceivers(members[i])) {
+                    if (receiver.hasComponent(HeatConsumerComponent.class)) {
+                        consumers.add(receiver);
+                    }
+                }
+            }
+            conductorSourceStart[size] = conductorSourceList.size();
+            producerSourceStart[size] = producerSourceList.size();
+            conductorSources = toArray(conductorSourceList);
+            producerSources = toArray(producerSourceList);
+
+            producers = new EntityRef[producerIndexes.size()];
+            for (Map.Entry<EntityRef, Integer> producerIndex : producerIndexes.entrySet()) {
+                producers[producerIndex.getValue()] = producerIndex.getKey();
+            }
+            producerHeat = new float[producers.length];
+            producerList = Collections.unmodifiableList(Arrays.asList(producers));
+            heatedConsumers = Collections.unmodifiableList(new ArrayList<>(consumers));
+        }
+
+        private int[] toArray(List<Integer> list) {
+            int[] result = new int[list.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = list.get(i);
+            }
+            return result;
+        }
+
+        private void solve(long time) {
+            if (time == solvedTime) {
+                return;
+            }
+            solvedTime = time;
+
+            for (int i = 0; i < producers.length; i++) {
+                HeatProducerComponent producer = producers[i].getComponent(HeatProducerComponent.class);
+                producerHeat[i] = producer != null ? HeatUtils.calculateHeatForProducer(producer) : 20;
+            }
+
+            for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+                float maxChange = 0;
+                for (int i = 0; i < members.length; i++) {
+                    float heatAboveAmbient = 0;
+                    float hottestSource = 20;
+                    for (int j = producerSourceStart[i]; j < producerSourceStart[i + 1]; j++) {
+                        float sourceHeat = producerHeat[producerSources[j]];
+                        heatAboveAmbient += sourceHeat - 20;
+                        hottestSource = Math.max(hottestSource, sourceHeat);
+                    }
+                    for (int j = conductorSourceStart[i]; j < conductorSourceStart[i + 1]; j++) {
+                        float sourceHeat = heat[conductorSources[j]];
+                        heatAboveAmbient += sourceHeat - 20;
+                        hottestSource = Math.max(hottestSource, sourceHeat);
+                    }
+
+                    float memberHeat = Math.min(hottestSource, 20 + efficiencies[i] * heatAboveAmbient);
+                    maxChange = Math.max(maxChange, Math.abs(memberHeat - heat[i]));
+                    heat[i] = memberHeat;
+                }
+                if (maxChange < CONVERGENCE_THRESHOLD) {
+                    break;
+                }
+            }
+        }
+    }
+}
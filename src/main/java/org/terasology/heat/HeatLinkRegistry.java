@@ -0,0 +1,60 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps track of which heat producers and conductors heat which heat consumers and conductors. The links are maintained
+ * as the heat blocks are placed, loaded and removed, so that querying them does not require any world lookups.
+ */
+public interface HeatLinkRegistry {
+    /**
+     * Returns the producers and conductors directly heating the specified consumer or conductor. A source is listed
+     * once for every one of its blocks adjacent to the heated entity.
+     *
+     * @param consumer
+     * @return
+     */
+    List<EntityRef> getHeatSources(EntityRef consumer);
+
+    /**
+     * Returns the consumers heated by the specified producer or conductor, either directly or through conductors.
+     *
+     * @param producer
+     * @return
+     */
+    Collection<EntityRef> getHeatedConsumers(EntityRef producer);
+
+    /**
+     * Returns the producers heating the network of conductors the specified conductor is part of.
+     *
+     * @param conductor
+     * @return
+     */
+    Collection<EntityRef> getConductedHeatSources(EntityRef conductor);
+
+    /**
+     * Returns the current heat of the specified conductor.
+     *
+     * @param conductor
+     * @return
+     */
+    float getHeatForConductor(EntityRef conductor);
+}
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.event.ReceiveEvent;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.heat.component.HeatConductorComponent;
+import org.terasology.heat.component.HeatConsumerComponent;
+import org.terasology.heat.component.HeatProducerComponent;
+import org.terasology.math.Side;
+import org.terasology.math.Vector3i;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.world.BlockEntityRegistry;
+import org.terasology.world.block.BlockComponent;
+import org.terasology.world.block.regions.BlockRegionComponent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@RegisterSystem
+@Share(value = HeatLinkRegistry.class)
+public class HeatLinkRegistryImpl extends BaseComponentSystem implements HeatLinkRegistry {
+    @In
+    private BlockEntityRegistry blockEntityRegistry;
+
+    // Source lists are immutable, so that they can be handed out without copying
+    private Map<EntityRef, List<EntityRef>> heatSources = new HashMap<>();
+    private Map<EntityRef, Set<EntityRef>> heatReceivers = new HashMap<>();
+
+    private HeatConductionNetwork conductionNetwork = new HeatConductionNetwork(this);
+
+    @Override
+    public List<EntityRef> getHeatSources(EntityRef consumer) {
+        List<EntityRef> result = heatSources.get(consumer);
+        if (result == null) {
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<EntityRef> getHeatedConsumers(EntityRef producer) {
+        Set<EntityRef> receivers = heatReceivers.get(producer);
+        if (receivers == null) {
+            return Collections.emptySet();
+        }
+
+        boolean conducted = false;
+        for (EntityRef receiver : receivers) {
+            if (receiver.hasComponent(HeatConductorComponent.class)) {
+                conducted = true;
+                break;
+            }
+        }
+        if (!conducted) {
+            return Collections.unmodifiableSet(receivers);
+        }
+
+        Set<EntityRef> result = new LinkedHashSet<>();
+        for (EntityRef receiver : receivers) {
+            if (receiver.hasComponent(HeatConsumerComponent.class)) {
+                result.add(receiver);
+            }
+            if (receiver.hasComponent(HeatConductorComponent.class)) {
+                result.addAll(conductionNetwork.getHeatedConsumers(receiver));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Collection<EntityRef> getConductedHeatSources(EntityRef conductor) {
+        return conductionNetwork.getHeatSources(conductor);
+    }
+
+    @Override
+    public float getHeatForConductor(EntityRef conductor) {
+        return conductionNetwork.getHeat(conductor);
+    }
+
+    Collection<EntityRef> getHeatReceivers(EntityRef source) {
+        Set<EntityRef> result = heatReceivers.get(source);
+        if (result == null) {
+            return Collections.emptySet();
+        }
+        return result;
+    }
+
+    @ReceiveEvent(components = {HeatConsumerComponent.class})
+    public void consumerActivated(OnActivatedComponent event, EntityRef entity) {
+        if (isBlockEntity(entity)) {
+            linkReceiver(entity);
+        }
+    }
+
+    @ReceiveEvent(components = {HeatConsumerComponent.class})
+    public void consumerDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        unlinkReceiver(entity);
+    }
+
+    @ReceiveEvent(components = {HeatProducerComponent.class})
+    public void producerActivated(OnActivatedComponent event, EntityRef entity) {
+        if (isBlockEntity(entity)) {
+            linkAdjacentReceivers(entity);
+        }
+    }
+
+    @ReceiveEvent(components = {HeatProducerComponent.class})
+    public void producerDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        unlinkSource(entity);
+    }
+
+    @ReceiveEvent(components = {HeatConductorComponent.class})
+    public void conductorActivated(OnActivatedComponent event, EntityRef entity) {
+        if (isBlockEntity(entity)) {
+            linkReceiver(entity);
+            linkAdjacentReceivers(entity);
+        }
+    }
+
+    @ReceiveEvent(components = {HeatConductorComponent.class})
+    public void conductorDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        unlinkReceiver(entity);
+        unlinkSource(entity);
+    }
+
+    private boolean isBlockEntity(EntityRef entity) {
+        return entity.hasComponent(BlockComponent.class) || entity.hasComponent(BlockRegionComponent.class);
+    }
+
+    private boolean isHeatReceiver(EntityRef entity) {
+        return entity.hasComponent(HeatConsumerComponent.class) || entity.hasComponent(HeatConductorComponent.class);
+    }
+
+    private Set<Side> getReceivingDirections(EntityRef entity) {
+        Set<Side> result = EnumSet.noneOf(Side.class);
+        HeatConsumerComponent consumer = entity.getComponent(HeatConsumerComponent.class);
+        if (consumer != null) {
+            result.addAll(consumer.heatDirections);
+        }
+        HeatConductorComponent conductor = entity.getComponent(HeatConductorComponent.class);
+        if (conductor != null) {
+            result.addAll(conductor.inputDirections);
+        }
+        return result;
+    }
+
+    private Set<Side> getEmittingDirections(EntityRef entity) {
+        Set<Side> result = EnumSet.noneOf(Side.class);
+        HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
+        if (producer != null) {
+            result.addAll(producer.heatDirections);
+        }
+        HeatConductorComponent conductor = entity.getComponent(HeatConductorComponent.class);
+        if (conductor != null) {
+            result.addAll(conductor.outputDirections);
+        }
+        return result;
+    }
+
+    private void linkAdjacentReceivers(EntityRef source) {
+        for (Vector3i heatedBlock : HeatUtils.getAdjacentBlocks(source, getEmittingDirections(source)).keySet()) {
+            EntityRef potentialReceiver = blockEntityRegistry.getEntityAt(heatedBlock);
+            if (isHeatReceiver(potentialReceiver)) {
+                linkReceiver(potentialReceiver);
+            }
+        }
+    }
+
+    private void linkReceiver(EntityRef receiver) {
+        unlinkReceiver(receiver);
+
+        List<EntityRef> sources = new ArrayList<>();
+        for (Map.Entry<Vector3i, Side> heaterBlock : HeatUtils.getAdjacentBlocks(receiver, getReceivingDirections(receiver)).entrySet()) {
+            EntityRef potentialHeatSource = blockEntityRegistry.getEntityAt(heaterBlock.getKey());
+            if (getEmittingDirections(potentialHeatSource).contains(heaterBlock.getValue().reverse())) {
+                sources.add(potentialHeatSource);
+
+                Set<EntityRef> receivers = heatReceivers.get(potentialHeatSource);
+                if (receivers == null) {
+                    receivers = new LinkedHashSet<>();
+                    heatReceivers.put(potentialHeatSource, receivers);
+                }
+                receivers.add(receiver);
+                conductionNetwork.invalidate(potentialHeatSource);
+            }
+        }
+
+        if (!sources.isEmpty()) {
+            heatSources.put(receiver, Collections.unmodifiableList(sources));
+        }
+        conductionNetwork.invalidate(receiver);
+    }
+
+    private void unlinkReceiver(EntityRef receiver) {
+        List<EntityRef> sources = heatSources.remove(receiver);
+        if (sources != null) {
+            for (EntityRef source : sources) {
+                Set<EntityRef> receivers = heatReceivers.get(source);
+                if (receivers != null) {
+                    receivers.remove(receiver);
+                    if (receivers.isEmpty()) {
+                        heatReceivers.remove(source);
+                    }
+                }
+                conductionNetwork.invalidate(source);
+            }
+        }
+        conductionNetwork.invalidate(receiver);
+    }
+
+    private void unlinkSource(EntityRef source) {
+        Set<EntityRef> receivers = heatReceivers.remove(source);
+        if (receivers != null) {
+            for (EntityRef receiver : receivers) {
+                List<EntityRef> sources = heatSources.get(receiver);
+                if (sources != null) {
+                    List<EntityRef> remainingSources = new ArrayList<>(sources);
+                    remainingSources.removeAll(Collections.singleton(source));
+                    if (remainingSources.isEmpty()) {
+                        heatSources.remove(receiver);
+                    } else {
+                        heatSources.put(receiver, Collections.unmodifiableList(remainingSources));
+                    }
+                }
+                conductionNetwork.invalidate(receiver);
+            }
+        }
+        conductionNetwork.invalidate(source);
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Keeps the temperatures processes of each process type care about. Whenever heat of a workstation supporting the
+ * process type crosses one of these temperatures, the workstation receives a HeatThresholdCrossed event.
+ */
+public interface HeatThresholdRegistry {
+    void addHeatThreshold(String processType, float temperature);
+
+    /**
+     * Returns the sorted temperatures registered for any of the process types supported by the workstation.
+     *
+     * @param workstation
+     * @return
+     */
+    float[] getHeatThresholds(EntityRef workstation);
+}
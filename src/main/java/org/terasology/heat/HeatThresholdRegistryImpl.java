@@ -0,0 +1,99 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat;
+
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabManager;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.heat.component.HeatProcessedComponent;
+import org.terasology.heat.processPart.HeatProcessingComponent;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.workstation.component.ProcessDefinitionComponent;
+import org.terasology.workstation.component.WorkstationComponent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+@RegisterSystem
+@Share(value = HeatThresholdRegistry.class)
+public class HeatThresholdRegistryImpl extends BaseComponentSystem implements HeatThresholdRegistry {
+    private static final float[] NO_THRESHOLDS = new float[0];
+
+    @In
+    private PrefabManager prefabManager;
+
+    private Map<String, Set<Float>> thresholdsByProcessType = new HashMap<>();
+    private Map<Set<String>, float[]> thresholdsByProcessTypes = new HashMap<>();
+
+    @Override
+    public void initialise() {
+        // Heat processing is driven by the heat required by the processed items
+        for (Prefab processPrefab : prefabManager.listPrefabs(HeatProcessingComponent.class)) {
+            ProcessDefinitionComponent processDefinition = processPrefab.getComponent(ProcessDefinitionComponent.class);
+            if (processDefinition != null) {
+                for (Prefab processedPrefab : prefabManager.listPrefabs(HeatProcessedComponent.class)) {
+                    addHeatThreshold(processDefinition.processType, processedPrefab.getComponent(HeatProcessedComponent.class).heatRequired);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void addHeatThreshold(String processType, float temperature) {
+        Set<Float> thresholds = thresholdsByProcessType.get(processType);
+        if (thresholds == null) {
+            thresholds = new HashSet<>();
+            thresholdsByProcessType.put(processType, thresholds);
+        }
+        if (thresholds.add(temperature)) {
+            thresholdsByProcessTypes.clear();
+        }
+    }
+
+    @Override
+    public float[] getHeatThresholds(EntityRef workstation) {
+        WorkstationComponent workstationComponent = workstation.getComponent(WorkstationComponent.class);
+        if (workstationComponent == null) {
+            return NO_THRESHOLDS;
+        }
+
+        Set<String> processTypes = workstationComponent.supportedProcessTypes.keySet();
+        float[] result = thresholdsByProcessTypes.get(processTypes);
+        if (result == null) {
+            Set<Float> thresholds = new TreeSet<>();
+            for (String processType : processTypes) {
+                Set<Float> processTypeThresholds = thresholdsByProcessType.get(processType);
+                if (processTypeThresholds != null) {
+                    thresholds.addAll(processTypeThresholds);
+                }
+            }
+
+            result = new float[thresholds.size()];
+            int index = 0;
+            for (Float threshold : thresholds) {
+                result[index++] = threshold;
+            }
+            thresholdsByProcessTypes.put(new HashSet<>(processTypes), result);
+        }
+        return result;
+    }
+}
@@ -16,16 +16,20 @@
 package org.terasology.heat;
 
 import org.terasology.engine.Time;
-import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.entity.lifecycleEvents.BeforeDeactivateComponent;
 import org.terasology.entitySystem.entity.lifecycleEvents.BeforeRemoveComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnActivatedComponent;
+import org.terasology.entitySystem.entity.lifecycleEvents.OnChangedComponent;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterMode;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.entitySystem.systems.UpdateSubscriberSystem;
+import org.terasology.heat.component.HeatConductorComponent;
 import org.terasology.heat.component.HeatConsumerComponent;
 import org.terasology.heat.component.HeatProducerComponent;
+import org.terasology.heat.event.HeatThresholdCrossed;
 import org.terasology.math.Side;
 import org.terasology.math.Vector3i;
 import org.terasology.monitoring.PerformanceMonitor;
@@ -34,82 +38,217 @@ import org.terasology.workstation.event.WorkstationStateChanged;
 import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.BlockComponent;
 
-import java.util.Iterator;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.PriorityQueue;
 
+/**
+ * Maintains the heat of producers and consumers. Instead of scanning all the heat entities periodically, each heat
+ * entity is scheduled for a check at its next meaningful deadline (residual heat fading, heat crossing one of the
+ * thresholds registered for it) and kept scheduled only while its heat is actually changing.
+ * Idle heat entities cost nothing, and workstations are notified only when their heat crosses a threshold.
+ */
 @RegisterSystem(value = RegisterMode.AUTHORITY)
 public class HeatTriggeringSystem extends BaseComponentSystem implements UpdateSubscriberSystem {
     @In
     private BlockEntityRegistry blockEntityRegistry;
     @In
-    private EntityManager entityManager;
-    @In
     private Time time;
+    @In
+    private HeatLinkRegistry heatLinkRegistry;
+    @In
+    private HeatThresholdRegistry heatThresholdRegistry;
 
     private static final float REMOVE_FUEL_THRESHOLD = 21f;
     private static final float REMOVE_RESIDUAL_HEAT_THRESHOLD = 21f;
     private static final long TRIGGER_INTERVAL = 100;
-    private long lastChecked;
+
+    private PriorityQueue<HeatCheck> heatChecks = new PriorityQueue<>();
+    private Map<EntityRef, Long> scheduledChecks = new HashMap<>();
+    // Number of the registered heat thresholds each entity's heat was at or above at its last check
+    private Map<EntityRef, Integer> heatBands = new HashMap<>();
 
     @Override
     public void update(float delta) {
         long currentTime = time.getGameTimeInMs();
-        if (currentTime > lastChecked + TRIGGER_INTERVAL) {
+        HeatCheck heatCheck = heatChecks.peek();
+        if (heatCheck != null && heatCheck.time <= currentTime) {
             PerformanceMonitor.startActivity("Heat - heat update");
             try {
-                lastChecked = currentTime;
-
-                for (EntityRef entity : entityManager.getEntitiesWith(HeatConsumerComponent.class, BlockComponent.class)) {
-                    HeatConsumerComponent heatConsumer = entity.getComponent(HeatConsumerComponent.class);
-                    Iterator<HeatConsumerComponent.ResidualHeat> residualHeatIterator = heatConsumer.residualHeat.iterator();
-                    boolean changed = false;
-                    while (residualHeatIterator.hasNext()) {
-                        HeatConsumerComponent.ResidualHeat residualHeat = residualHeatIterator.next();
-                        if (HeatUtils.calculateResidualHeatValue(currentTime, residualHeat) < REMOVE_RESIDUAL_HEAT_THRESHOLD) {
-                            residualHeatIterator.remove();
-                            changed = true;
-                        } else {
-                            break;
-                        }
-                    }
-                    if (changed) {
-                        entity.saveComponent(heatConsumer);
+                while (heatCheck != null && heatCheck.time <= currentTime) {
+                    heatChecks.poll();
+                    // Checks that were rescheduled in the meantime are stale and skipped
+                    Long scheduledTime = scheduledChecks.get(heatCheck.entity);
+                    if (scheduledTime != null && scheduledTime == heatCheck.time) {
+                        scheduledChecks.remove(heatCheck.entity);
+                        checkHeat(heatCheck.entity, currentTime);
                     }
+                    heatCheck = heatChecks.peek();
+                }
+            } finally {
+                PerformanceMonitor.endActivity();
+            }
+        }
+    }
+
+    @ReceiveEvent(components = {HeatProducerComponent.class, BlockComponent.class})
+    public void producerActivated(OnActivatedComponent event, EntityRef entity) {
+        scheduleCheck(entity, time.getGameTimeInMs());
+    }
+
+    @ReceiveEvent(components = {HeatProducerComponent.class, BlockComponent.class})
+    public void producerChanged(OnChangedComponent event, EntityRef entity) {
+        scheduleCheck(entity, time.getGameTimeInMs());
+    }
+
+    @ReceiveEvent(components = {HeatProducerComponent.class, BlockComponent.class})
+    public void producerDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        scheduledChecks.remove(entity);
+        heatBands.remove(entity);
+    }
+
+    @ReceiveEvent(components = {HeatConsumerComponent.class, BlockComponent.class})
+    public void consumerActivated(OnActivatedComponent event, EntityRef entity, HeatConsumerComponent heatConsumer) {
+        long gameTime = time.getGameTimeInMs();
+        if (HeatUtils.foldLegacyResidualHeat(heatConsumer, gameTime)) {
+            entity.saveComponent(heatConsumer);
+        }
+        scheduleCheck(entity, gameTime);
+    }
+
+    @ReceiveEvent(components = {HeatConsumerComponent.class, BlockComponent.class})
+    public void consumerChanged(OnChangedComponent event, EntityRef entity) {
+        scheduleCheck(entity, time.getGameTimeInMs());
+    }
+
+    @ReceiveEvent(components = {HeatConsumerComponent.class, BlockComponent.class})
+    public void consumerDeactivated(BeforeDeactivateComponent event, EntityRef entity) {
+        scheduledChecks.remove(entity);
+        heatBands.remove(entity);
+    }
+
+    private void scheduleCheck(EntityRef entity, long checkTime) {
+        Long scheduledTime = scheduledChecks.get(entity);
+        if (scheduledTime == null || checkTime < scheduledTime) {
+            scheduledChecks.put(entity, checkTime);
+            heatChecks.add(new HeatCheck(entity, checkTime));
+        }
+    }
+
+    private void checkHeat(EntityRef entity, long currentTime) {
+        if (!entity.exists()) {
+            return;
+        }
+
+        HeatConsumerComponent heatConsumer = entity.getComponent(HeatConsumerComponent.class);
+        if (heatConsumer != null) {
+            HeatConsumerComponent.ResidualHeat residualHeat = heatConsumer.aggregatedResidualHeat;
+            if (residualHeat.baseHeat > 0
+                    && HeatUtils.calculateResidualHeatValue(currentTime, residualHeat) < REMOVE_RESIDUAL_HEAT_THRESHOLD) {
+                residualHeat.baseHeat = 0;
+                entity.saveComponent(heatConsumer);
+            }
+        }
+
+        HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
+        if (producer != null) {
+            // Burnt out fuel is folded into the checkpoint when the next fuel is added, saving the producer here would
+            // only replicate it once more
+            for (EntityRef consumer : heatLinkRegistry.getHeatedConsumers(entity)) {
+                scheduleCheck(consumer, currentTime);
+            }
+        }
 
-                    entity.send(new WorkstationStateChanged());
+        float[] thresholds = heatThresholdRegistry.getHeatThresholds(entity);
+        if (thresholds.length > 0) {
+            int heatBand = getHeatBand(thresholds, HeatUtils.calculateHeatForEntity(entity, blockEntityRegistry));
+            Integer previousHeatBand = heatBands.put(entity, heatBand);
+            if (previousHeatBand != null) {
+                for (int i = previousHeatBand; i < heatBand; i++) {
+                    entity.send(new HeatThresholdCrossed(thresholds[i], true));
+                }
+                for (int i = previousHeatBand - 1; i >= heatBand; i--) {
+                    entity.send(new HeatThresholdCrossed(thresholds[i], false));
                 }
+            }
+        }
 
-                for (EntityRef entity : entityManager.getEntitiesWith(HeatProducerComponent.class, BlockComponent.class)) {
-                    HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
-
-                    boolean changed = false;
-                    Iterator<HeatProducerComponent.FuelSourceConsume> fuelConsumedIterator = producer.fuelConsumed.iterator();
-                    while (fuelConsumedIterator.hasNext()) {
-                        HeatProducerComponent.FuelSourceConsume fuelSourceConsume = fuelConsumedIterator.next();
-                        // If the fuel no longer has any meaningful impact on the producer - remove it
-                        if (fuelSourceConsume.startTime + fuelSourceConsume.burnLength < currentTime
-                                && HeatUtils.solveHeatEquation(fuelSourceConsume.heatProvided, 20, producer.temperatureLossRate,
-                                currentTime - (fuelSourceConsume.startTime + fuelSourceConsume.burnLength)) < REMOVE_FUEL_THRESHOLD) {
-                            fuelConsumedIterator.remove();
-                            changed = true;
-                        } else {
-                            break;
-                        }
-                    }
-                    if (changed) {
-                        entity.saveComponent(producer);
-                    }
+        // Crossing a threshold might have started a process that modified the heat components, so re-read them
+        long nextCheck = Long.MAX_VALUE;
+        heatConsumer = entity.getComponent(HeatConsumerComponent.class);
+        if (heatConsumer != null) {
+            nextCheck = Math.min(nextCheck, getNextConsumerCheck(entity, heatConsumer, currentTime));
+        }
+        producer = entity.getComponent(HeatProducerComponent.class);
+        if (producer != null) {
+            nextCheck = Math.min(nextCheck, getNextProducerCheck(producer, thresholds, currentTime));
+        }
+        if (nextCheck != Long.MAX_VALUE) {
+            scheduledChecks.remove(entity);
+            scheduleCheck(entity, nextCheck);
+        }
+    }
+
+    private int getHeatBand(float[] thresholds, float heat) {
+        int heatBand = 0;
+        while (heatBand < thresholds.length && thresholds[heatBand] <= heat) {
+            heatBand++;
+        }
+        return heatBand;
+    }
 
-                    entity.send(new WorkstationStateChanged());
+    private long getNextConsumerCheck(EntityRef entity, HeatConsumerComponent heatConsumer, long currentTime) {
+        // Heat of a consumer is a sum of several heat curves, so it is sampled while any of them is changing
+        HeatConsumerComponent.ResidualHeat residualHeat = heatConsumer.aggregatedResidualHeat;
+        if (residualHeat.baseHeat > 0) {
+            long nextCheck = currentTime + TRIGGER_INTERVAL;
+            long fadeTime = residualHeat.time + (long) (1000 * Math.log(residualHeat.baseHeat / REMOVE_RESIDUAL_HEAT_THRESHOLD));
+            if (fadeTime > currentTime) {
+                nextCheck = Math.min(nextCheck, fadeTime);
+            }
+            return nextCheck;
+        }
+        for (EntityRef heatSource : heatLinkRegistry.getHeatSources(entity)) {
+            if (isProducerHeatChanging(heatSource, currentTime)) {
+                return currentTime + TRIGGER_INTERVAL;
+            }
+            if (heatSource.hasComponent(HeatConductorComponent.class)) {
+                for (EntityRef conductedHeatSource : heatLinkRegistry.getConductedHeatSources(heatSource)) {
+                    if (isProducerHeatChanging(conductedHeatSource, currentTime)) {
+                        return currentTime + TRIGGER_INTERVAL;
+                    }
                 }
-            } finally {
-                PerformanceMonitor.endActivity();
             }
         }
+        return Long.MAX_VALUE;
+    }
+
+    private boolean isProducerHeatChanging(EntityRef entity, long currentTime) {
+        HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
+        // Burnt out fuel stays in the list until new fuel is added, so the burn end time is what tells if it still burns
+        return producer != null
+                && (HeatUtils.calculateFuelBurnEndTime(producer) > currentTime || HeatUtils.calculateHeatForProducer(producer) >= REMOVE_FUEL_THRESHOLD);
+    }
+
+    private long getNextProducerCheck(HeatProducerComponent producer, float[] thresholds, long currentTime) {
+        long nextCheck = Long.MAX_VALUE;
+        for (float threshold : thresholds) {
+            long crossingTime = HeatUtils.calculateHeatCrossingTimeForProducer(producer, currentTime, threshold);
+            if (crossingTime != -1) {
+                nextCheck = Math.min(nextCheck, crossingTime);
+            }
+        }
+        return nextCheck;
+    }
+
+    @ReceiveEvent
+    public void heatThresholdCrossed(HeatThresholdCrossed event, EntityRef entity) {
+        entity.send(new WorkstationStateChanged());
     }
 
     /**
-     * Store residual heat from removed producers into consumers.
+     * Store residual heat from removed producers into consumers. The heat links of the producer are already gone
+     * when it is being removed, so the consumers are looked up in the world.
      *
      * @param event
      * @param entity
@@ -124,13 +263,25 @@ public class HeatTriggeringSystem extends BaseComponentSystem implements UpdateS
             EntityRef potentialConsumer = blockEntityRegistry.getEntityAt(heatedBlock.getKey());
             HeatConsumerComponent consumer = potentialConsumer.getComponent(HeatConsumerComponent.class);
             if (consumer != null && consumer.heatDirections.contains(heatedBlock.getValue().reverse())) {
-                HeatConsumerComponent.ResidualHeat residualHeat = new HeatConsumerComponent.ResidualHeat();
-                residualHeat.time = gameTime;
-                residualHeat.baseHeat = heat;
-                consumer.residualHeat.add(residualHeat);
+                HeatUtils.addResidualHeat(consumer, gameTime, heat);
 
                 potentialConsumer.saveComponent(consumer);
             }
         }
     }
+
+    private static final class HeatCheck implements Comparable<HeatCheck> {
+        private final EntityRef entity;
+        private final long time;
+
+        private HeatCheck(EntityRef entity, long time) {
+            this.entity = entity;
+            this.time = time;
+        }
+
+        @Override
+        public int compareTo(HeatCheck o) {
+            return Long.compare(time, o.time);
+        }
+    }
 }
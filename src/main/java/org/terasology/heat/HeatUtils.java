@@ -19,6 +19,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.heat.component.HeatConductorComponent;
 import org.terasology.heat.component.HeatConsumerComponent;
 import org.terasology.heat.component.HeatProducerComponent;
 import org.terasology.math.Region3i;
@@ -29,8 +30,11 @@ import org.terasology.world.BlockEntityRegistry;
 import org.terasology.world.block.BlockComponent;
 import org.terasology.world.block.regions.BlockRegionComponent;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 public final class HeatUtils {
@@ -48,12 +52,15 @@ public final class HeatUtils {
     }
 
     public static float solveHeatEquation(float startingHeat, float appliedHeat, float heatTransferEfficiency, long duration) {
-        return startingHeat + (appliedHeat - startingHeat) * (1 - (float) Math.pow(Math.E, -duration * heatTransferEfficiency / HEAT_MAGIC_VALUE));
+        return startingHeat + (appliedHeat - startingHeat) * (1 - (float) Math.exp(-duration * heatTransferEfficiency / HEAT_MAGIC_VALUE));
     }
 
     private static float calculateHeatForProducerAtTime(HeatProducerComponent producer, long time) {
-        float heat = 20;
-        long lastCalculated = 0;
+        float heat = producer.checkpointTemperature;
+        long lastCalculated = producer.checkpointTime;
+        if (time <= lastCalculated) {
+            return heat;
+        }
         for (HeatProducerComponent.FuelSourceConsume fuelSourceConsume : producer.fuelConsumed) {
             if (fuelSourceConsume.startTime < time) {
                 if (lastCalculated < fuelSourceConsume.startTime) {
@@ -75,6 +82,186 @@ public final class HeatUtils {
         return heat;
     }
 
+    /**
+     * Calculates the game time at which the heat of the producer reaches the specified temperature, given the fuel it
+     * currently has.
+     *
+     * @param producer
+     * @param time
+     * @param temperature
+     * @return the specified time, if the heat is already at or above the temperature, the game time at which the heat
+     * reaches the temperature, or -1 if it is not going to reach it.
+     */
+    public static long calculateTimeToReachHeatForProducer(HeatProducerComponent producer, long time, float temperature) {
+        if (Math.min(producer.maximumTemperature, calculateHeatForProducerAtTime(producer, time)) >= temperature) {
+            return time;
+        }
+        return calculateHeatCrossingTimeForProducer(producer, time, temperature);
+    }
+
+    /**
+     * Calculates for how long from the specified time the heat of the producer is going to stay at or above the
+     * specified temperature, given the fuel it currently has.
+     *
+     * @param producer
+     * @param time
+     * @param temperature
+     * @return duration in milliseconds, 0 if the heat is below the temperature, or Long.MAX_VALUE if the heat is never
+     * going to fall below the temperature.
+     */
+    public static long calculateDurationAboveHeatForProducer(HeatProducerComponent producer, long time, float temperature) {
+        if (Math.min(producer.maximumTemperature, calculateHeatForProducerAtTime(producer, time)) < temperature) {
+            return 0;
+        }
+        long crossingTime = calculateHeatCrossingTimeForProducer(producer, time, temperature);
+        if (crossingTime == -1) {
+            return Long.MAX_VALUE;
+        }
+        return crossingTime - time;
+    }
+
+    /**
+     * Calculates the game time at which the heat of the entity reaches the specified temperature. Only the heat of
+     * producers can be solved in closed form, for other entities -1 is returned.
+     *
+     * @param entity
+     * @param temperature
+     * @return
+     */
+    public static long calculateTimeToReachHeat(EntityRef entity, float temperature) {
+        HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
+        if (producer == null) {
+            return -1;
+        }
+        return calculateTimeToReachHeatForProducer(producer, CoreRegistry.get(Time.class).getGameTimeInMs(), temperature);
+    }
+
+    /**
+     * Calculates for how long the heat of the entity is going to stay at or above the specified temperature. Only the
+     * heat of producers can be solved in closed form, for other entities 0 is returned.
+     *
+     * @param entity
+     * @param temperature
+     * @return
+     */
+    public static long calculateDurationAboveHeat(EntityRef entity, float temperature) {
+        HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
+        if (producer == null) {
+            return 0;
+        }
+        return calculateDurationAboveHeatForProducer(producer, CoreRegistry.get(Time.class).getGameTimeInMs(), temperature);
+    }
+
+    /**
+     * Calculates the first game time after the specified time, at which the heat of the producer crosses the specified
+     * temperature (either rising or falling), given the fuel it currently has.
+     *
+     * @param producer
+     * @param time
+     * @param temperature
+     * @return game time of the crossing, or -1 if the heat is not going to cross the temperature.
+     */
+    public static long calculateHeatCrossingTimeForProducer(HeatProducerComponent producer, long time, float temperature) {
+        if (temperature >= producer.maximumTemperature) {
+            return -1;
+        }
+
+        float heat = Math.min(producer.maximumTemperature, calculateHeatForProducerAtTime(producer, time));
+        long segmentStart = time;
+        for (HeatProducerComponent.FuelSourceConsume fuelSourceConsume : producer.fuelConsumed) {
+            long heatEndTime = fuelSourceConsume.startTime + fuelSourceConsume.burnLength;
+            if (heatEndTime <= segmentStart) {
+                continue;
+            }
+            if (segmentStart < fuelSourceConsume.startTime) {
+                long crossing = calculateSegmentCrossingTime(heat, 20, producer.temperatureLossRate, segmentStart, fuelSourceConsume.startTime, temperature);
+                if (crossing != -1) {
+                    return crossing;
+                }
+                heat = solveHeatEquation(heat, 20, producer.temperatureLossRate, fuelSourceConsume.startTime - segmentStart);
+                segmentStart = fuelSourceConsume.startTime;
+            }
+            long crossing = calculateSegmentCrossingTime(heat, fuelSourceConsume.heatProvided, producer.temperatureAbsorptionRate, segmentStart, heatEndTime, temperature);
+            if (crossing != -1) {
+                return crossing;
+            }
+            heat = Math.min(producer.maximumTemperature, solveHeatEquation(heat, fuelSourceConsume.heatProvided, producer.temperatureAbsorptionRate, heatEndTime - segmentStart));
+            segmentStart = heatEndTime;
+        }
+
+        return calculateSegmentCrossingTime(heat, 20, producer.temperatureLossRate, segmentStart, Long.MAX_VALUE, temperature);
+    }
+
+    /**
+     * Inverts solveHeatEquation for a single segment, during which the heat moves monotonically from startingHeat
+     * towards appliedHeat.
+     */
+    private static long calculateSegmentCrossingTime(float startingHeat, float appliedHeat, float heatTransferEfficiency,
+                                                     long segmentStart, long segmentEnd, float temperature) {
+        if (heatTransferEfficiency <= 0 || (temperature - startingHeat) * (temperature - appliedHeat) >= 0) {
+            return -1;
+        }
+        double duration = Math.log((startingHeat - appliedHeat) / (temperature - appliedHeat)) * HEAT_MAGIC_VALUE / heatTransferEfficiency;
+        long crossingDuration = Math.max(1, (long) Math.ceil(duration));
+        if (crossingDuration >= segmentEnd - segmentStart) {
+            return -1;
+        }
+        return segmentStart + crossingDuration;
+    }
+
+    /**
+     * Returns the game time at which the last of the producer's fuel burns out.
+     *
+     * @param producer
+     * @return game time when the fuel burns out, or Long.MIN_VALUE if the producer has no fuel.
+     */
+    public static long calculateFuelBurnEndTime(HeatProducerComponent producer) {
+        long burnEndTime = Long.MIN_VALUE;
+        for (HeatProducerComponent.FuelSourceConsume fuelSourceConsume : producer.fuelConsumed) {
+            burnEndTime = Math.max(burnEndTime, fuelSourceConsume.startTime + fuelSourceConsume.burnLength);
+        }
+        return burnEndTime;
+    }
+
+    /**
+     * Folds all the fuel that has burnt out by the specified time into the producer's checkpoint and removes it from
+     * the fuel list. The heat calculated for the producer is not affected, as the checkpoint is advanced with exactly
+     * the same steps that would otherwise be replayed on each query.
+     *
+     * @param producer
+     * @param time
+     * @return true, if the producer was modified and needs to be saved.
+     */
+    public static boolean foldBurntOutFuel(HeatProducerComponent producer, long time) {
+        float heat = producer.checkpointTemperature;
+        long lastCalculated = producer.checkpointTime;
+        boolean changed = false;
+
+        Iterator<HeatProducerComponent.FuelSourceConsume> fuelConsumedIterator = producer.fuelConsumed.iterator();
+        while (fuelConsumedIterator.hasNext()) {
+            HeatProducerComponent.FuelSourceConsume fuelSourceConsume = fuelConsumedIterator.next();
+            long heatEndTime = fuelSourceConsume.startTime + fuelSourceConsume.burnLength;
+            if (heatEndTime > time) {
+                break;
+            }
+            if (lastCalculated < fuelSourceConsume.startTime) {
+                heat = solveHeatEquation(heat, 20, producer.temperatureLossRate, fuelSourceConsume.startTime - lastCalculated);
+                lastCalculated = fuelSourceConsume.startTime;
+            }
+            heat = Math.min(producer.maximumTemperature, solveHeatEquation(heat, fuelSourceConsume.heatProvided, producer.temperatureAbsorptionRate, heatEndTime - lastCalculated));
+            lastCalculated = heatEndTime;
+
+            fuelConsumedIterator.remove();
+            changed = true;
+        }
+
+        if (changed) {
+            producer.checkpointTemperature = heat;
+            producer.checkpointTime = lastCalculated;
+        }
+        return changed;
+    }
+
     public static float calculateHeatForEntity(EntityRef entity, BlockEntityRegistry blockEntityRegistry) {
         HeatProducerComponent producer = entity.getComponent(HeatProducerComponent.class);
         HeatConsumerComponent consumer = entity.getComponent(HeatConsumerComponent.class);
@@ -82,6 +269,8 @@ public final class HeatUtils {
             return calculateHeatForProducer(producer);
         } else if (consumer != null) {
             return calculateHeatForConsumer(entity, blockEntityRegistry, consumer);
+        } else if (entity.hasComponent(HeatConductorComponent.class)) {
+            return CoreRegistry.get(HeatLinkRegistry.class).getHeatForConductor(entity);
         } else {
             return 20;
         }
@@ -90,20 +279,24 @@ public final class HeatUtils {
     private static float calculateHeatForConsumer(EntityRef entity, BlockEntityRegistry blockEntityRegistry, HeatConsumerComponent heatConsumer) {
         float result = 20;
 
-        for (Map.Entry<Vector3i, Side> heaterBlock : getPotentialHeatSourceBlocksForConsumer(entity).entrySet()) {
-            EntityRef potentialHeatProducer = blockEntityRegistry.getEntityAt(heaterBlock.getKey());
-            HeatProducerComponent producer = potentialHeatProducer.getComponent(HeatProducerComponent.class);
-
-            if (producer != null && producer.heatDirections.contains(heaterBlock.getValue().reverse())) {
+        HeatLinkRegistry heatLinkRegistry = CoreRegistry.get(HeatLinkRegistry.class);
+        List<EntityRef> heatSources = heatLinkRegistry.getHeatSources(entity);
+        for (int i = 0, size = heatSources.size(); i < size; i++) {
+            EntityRef heatSource = heatSources.get(i);
+            HeatProducerComponent producer = heatSource.getComponent(HeatProducerComponent.class);
+            if (producer != null) {
                 result += calculateHeatForProducer(producer);
+            } else if (heatSource.hasComponent(HeatConductorComponent.class)) {
+                result += heatLinkRegistry.getHeatForConductor(heatSource);
             }
         }
 
-        long gameTime = CoreRegistry.get(Time.class).getGameTimeInMs();
-
-        for (HeatConsumerComponent.ResidualHeat residualHeat : heatConsumer.residualHeat) {
-            double heat = calculateResidualHeatValue(gameTime, residualHeat);
-            result += heat;
+        if (heatConsumer.aggregatedResidualHeat.baseHeat > 0 || !heatConsumer.residualHeat.isEmpty()) {
+            long gameTime = CoreRegistry.get(Time.class).getGameTimeInMs();
+            result += calculateResidualHeatValue(gameTime, heatConsumer.aggregatedResidualHeat);
+            for (HeatConsumerComponent.ResidualHeat residualHeat : heatConsumer.residualHeat) {
+                result += calculateResidualHeatValue(gameTime, residualHeat);
+            }
         }
 
         return result * heatConsumer.heatConsumptionEfficiency;
@@ -111,7 +304,43 @@ public final class HeatUtils {
 
     public static double calculateResidualHeatValue(long gameTime, HeatConsumerComponent.ResidualHeat residualHeat) {
         float timeSinceHeatWasEstablished = (gameTime - residualHeat.time) / 1000f;
-        return residualHeat.baseHeat * Math.pow(Math.E, -1 * timeSinceHeatWasEstablished);
+        return residualHeat.baseHeat * Math.exp(-timeSinceHeatWasEstablished);
+    }
+
+    /**
+     * Adds residual heat to the consumer. As all residual heat decays at the same rate, the existing residual heat is
+     * rebased to the specified time and summed with the new heat, keeping a single term.
+     *
+     * @param heatConsumer
+     * @param time
+     * @param heat
+     */
+    public static void addResidualHeat(HeatConsumerComponent heatConsumer, long time, float heat) {
+        HeatConsumerComponent.ResidualHeat residualHeat = heatConsumer.aggregatedResidualHeat;
+        float existingHeat = 0;
+        if (residualHeat.baseHeat > 0) {
+            existingHeat = (float) calculateResidualHeatValue(time, residualHeat);
+        }
+        residualHeat.time = time;
+        residualHeat.baseHeat = existingHeat + heat;
+    }
+
+    /**
+     * Folds the residual heat entries stored by older saves into the aggregated residual heat of the consumer.
+     *
+     * @param heatConsumer
+     * @param time
+     * @return If the consumer had any entries to fold.
+     */
+    public static boolean foldLegacyResidualHeat(HeatConsumerComponent heatConsumer, long time) {
+        if (heatConsumer.residualHeat.isEmpty()) {
+            return false;
+        }
+        for (HeatConsumerComponent.ResidualHeat residualHeat : heatConsumer.residualHeat) {
+            addResidualHeat(heatConsumer, time, (float) calculateResidualHeatValue(time, residualHeat));
+        }
+        heatConsumer.residualHeat.clear();
+        return true;
     }
 
     public static Region3i getEntityBlocks(EntityRef entityRef) {
@@ -130,21 +359,7 @@ public final class HeatUtils {
             return Collections.emptyMap();
         }
 
-        Region3i entityBlocks = getEntityBlocks(consumer);
-
-        Map<Vector3i, Side> result = new HashMap<>();
-
-        for (Vector3i entityBlock : entityBlocks) {
-            for (Side heatDirection : consumerComp.heatDirections) {
-                Vector3i heatedBlock = entityBlock.clone();
-                heatedBlock.add(heatDirection.getVector3i());
-                if (!entityBlocks.encompasses(heatedBlock)) {
-                    result.put(heatedBlock, heatDirection);
-                }
-            }
-        }
-
-        return result;
+        return getAdjacentBlocks(consumer, consumerComp.heatDirections);
     }
 
     public static Map<Vector3i, Side> getPotentialHeatedBlocksForProducer(EntityRef producer) {
@@ -153,12 +368,23 @@ public final class HeatUtils {
             return Collections.emptyMap();
         }
 
-        Region3i entityBlocks = getEntityBlocks(producer);
+        return getAdjacentBlocks(producer, producerComp.heatDirections);
+    }
+
+    /**
+     * Returns the blocks adjacent to the entity in the specified directions, with the direction each one is in.
+     *
+     * @param entity
+     * @param directions
+     * @return
+     */
+    public static Map<Vector3i, Side> getAdjacentBlocks(EntityRef entity, Collection<Side> directions) {
+        Region3i entityBlocks = getEntityBlocks(entity);
 
         Map<Vector3i, Side> result = new HashMap<>();
 
         for (Vector3i entityBlock : entityBlocks) {
-            for (Side heatDirection : producerComp.heatDirections) {
+            for (Side heatDirection : directions) {
                 Vector3i heatedBlock = entityBlock.clone();
                 heatedBlock.add(heatDirection.getVector3i());
                 if (!entityBlocks.encompasses(heatedBlock)) {
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat.component;
+
+import com.google.common.collect.Sets;
+import org.terasology.entitySystem.Component;
+import org.terasology.math.Side;
+import org.terasology.network.Replicate;
+import org.terasology.world.block.ForceBlockActive;
+
+import java.util.Set;
+
+/**
+ * Block that receives heat from the producers and conductors on its input sides and passes it on to the consumers and
+ * conductors on its output sides. Heat above the ambient temperature is multiplied by the conduction efficiency on each
+ * pass, and a conductor is never hotter than its hottest source.
+ */
+@ForceBlockActive
+public class HeatConductorComponent implements Component {
+    @Replicate
+    public Set<Side> inputDirections = Sets.newHashSet();
+    @Replicate
+    public Set<Side> outputDirections = Sets.newHashSet();
+    @Replicate
+    public float heatConductionEfficiency;
+}
@@ -31,6 +31,15 @@ public class HeatConsumerComponent implements Component {
     public Set<Side> heatDirections;
     @Replicate
     public float heatConsumptionEfficiency;
+    /**
+     * Residual heat left by all the removed producers, aggregated into a single decaying term.
+     */
+    @Replicate
+    public ResidualHeat aggregatedResidualHeat = new ResidualHeat();
+    /**
+     * Residual heat in the format of older saves, one entry per removed producer. The entries are folded into
+     * aggregatedResidualHeat when the consumer is activated.
+     */
     @Replicate
     public List<ResidualHeat> residualHeat = Lists.newArrayList();
 
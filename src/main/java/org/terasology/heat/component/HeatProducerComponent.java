@@ -28,6 +28,11 @@ import java.util.Set;
 
 @ForceBlockActive
 public class HeatProducerComponent implements Component {
+    /**
+     * Fuel added since the checkpoint. Fuel that has burnt out is folded into the checkpoint whenever new fuel is added,
+     * so the replicated state is the checkpoint plus at most the previous and the burning fuel, regardless of how long
+     * the producer has been burning.
+     */
     @Replicate
     public List<FuelSourceConsume> fuelConsumed = Lists.newArrayList();
     @Replicate
@@ -38,6 +43,13 @@ public class HeatProducerComponent implements Component {
     public float maximumTemperature;
     @Replicate
     public Set<Side> heatDirections = Sets.newHashSet();
+    /**
+     * Temperature of the producer at checkpointTime, with all fuel that burnt out before that time already folded in.
+     */
+    @Replicate
+    public float checkpointTemperature = 20;
+    @Replicate
+    public long checkpointTime;
 
     @MappedContainer
     public static class FuelSourceConsume {
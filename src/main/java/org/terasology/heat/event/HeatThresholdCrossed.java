@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat.event;
+
+import org.terasology.entitySystem.event.Event;
+
+/**
+ * Sent to a heat entity when its heat crosses one of the temperatures registered in the HeatThresholdRegistry for it.
+ */
+public class HeatThresholdCrossed implements Event {
+    private float temperature;
+    private boolean rising;
+
+    public HeatThresholdCrossed(float temperature, boolean rising) {
+        this.temperature = temperature;
+        this.rising = rising;
+    }
+
+    public float getTemperature() {
+        return temperature;
+    }
+
+    public boolean isRising() {
+        return rising;
+    }
+}
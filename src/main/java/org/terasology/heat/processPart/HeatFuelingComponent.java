@@ -15,9 +15,12 @@
  */
 package org.terasology.heat.processPart;
 
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoles;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.Component;
 import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.heat.HeatUtils;
 import org.terasology.heat.component.HeatFuelComponent;
 import org.terasology.heat.component.HeatProducerComponent;
 import org.terasology.logic.inventory.InventoryManager;
@@ -27,7 +30,6 @@ import org.terasology.workstation.component.SpecificInputSlotComponent;
 import org.terasology.workstation.component.WorkstationInventoryComponent;
 import org.terasology.workstation.event.WorkstationStateChanged;
 import org.terasology.workstation.process.ProcessPart;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.inventory.ValidateInventoryItem;
 
 import java.util.LinkedHashSet;
@@ -36,12 +38,11 @@ import java.util.Set;
 public class HeatFuelingComponent implements Component, ProcessPart, ValidateInventoryItem {
     @Override
     public boolean isResponsibleForSlot(EntityRef workstation, int slotNo) {
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "FUEL")) {
-            if (slot == slotNo) {
-                return true;
-            }
-        }
-        return false;
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.FUEL);
+    }
+
+    private WorkstationSlotRoles getSlotRoles(EntityRef workstation) {
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(workstation);
     }
 
     @Override
@@ -56,7 +57,7 @@ public class HeatFuelingComponent implements Component, ProcessPart, ValidateInv
         }
 
         Set<String> result = new LinkedHashSet<>();
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "FUEL")) {
+        for (int slot : getSlotRoles(workstation).getSlots("FUEL")) {
             HeatFuelComponent fuel = InventoryUtils.getItemAt(workstation, slot).getComponent(HeatFuelComponent.class);
             if (fuel != null) {
                 processEntity.addComponent(new SpecificInputSlotComponent(slot));
@@ -87,6 +88,7 @@ public class HeatFuelingComponent implements Component, ProcessPart, ValidateInv
 
         if (CoreRegistry.get(InventoryManager.class).removeItem(workstation, instigator, item, true, 1) != null) {
             HeatProducerComponent producer = workstation.getComponent(HeatProducerComponent.class);
+            HeatUtils.foldBurntOutFuel(producer, time);
             HeatProducerComponent.FuelSourceConsume fuelSource = new HeatProducerComponent.FuelSourceConsume();
             fuelSource.startTime = time;
             fuelSource.burnLength = fuel.consumeTime;
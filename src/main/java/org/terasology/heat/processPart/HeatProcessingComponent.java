@@ -15,40 +15,28 @@
  */
 package org.terasology.heat.processPart;
 
+import org.terasology.crafting.system.ProcessResultRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoles;
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
 import org.terasology.entitySystem.Component;
-import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.prefab.Prefab;
-import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.heat.HeatUtils;
 import org.terasology.heat.component.HeatProcessedComponent;
 import org.terasology.logic.inventory.InventoryManager;
 import org.terasology.logic.inventory.InventoryUtils;
-import org.terasology.logic.inventory.ItemComponent;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.workstation.component.OutputTypeComponent;
 import org.terasology.workstation.component.SpecificInputSlotComponent;
 import org.terasology.workstation.component.WorkstationInventoryComponent;
 import org.terasology.workstation.process.ProcessPart;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.inventory.ValidateInventoryItem;
 import org.terasology.world.BlockEntityRegistry;
-import org.terasology.world.block.BlockManager;
-import org.terasology.world.block.family.BlockFamily;
-import org.terasology.world.block.items.BlockItemFactory;
 
 public class HeatProcessingComponent implements Component, ProcessPart, ValidateInventoryItem {
     @Override
     public boolean isResponsibleForSlot(EntityRef workstation, int slotNo) {
-        if (isInputSlot(workstation, slotNo)) {
-            return true;
-        }
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT")) {
-            if (slot == slotNo) {
-                return true;
-            }
-        }
-        return false;
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.INPUT | WorkstationSlotRoles.OUTPUT);
     }
 
     @Override
@@ -60,12 +48,11 @@ public class HeatProcessingComponent implements Component, ProcessPart, Validate
     }
 
     private boolean isInputSlot(EntityRef workstation, int slotNo) {
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT")) {
-            if (slot == slotNo) {
-                return true;
-            }
-        }
-        return false;
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.INPUT);
+    }
+
+    private WorkstationSlotRoles getSlotRoles(EntityRef workstation) {
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(workstation);
     }
 
     @Override
@@ -77,7 +64,7 @@ public class HeatProcessingComponent implements Component, ProcessPart, Validate
         // Defer the heat calculation until it is actually needed
         Float heat = null;
 
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT")) {
+        for (int slot : getSlotRoles(workstation).getSlots("INPUT")) {
             HeatProcessedComponent processed = InventoryUtils.getItemAt(workstation, slot).getComponent(HeatProcessedComponent.class);
             if (processed != null) {
                 float heatRequired = processed.heatRequired;
@@ -99,15 +86,14 @@ public class HeatProcessingComponent implements Component, ProcessPart, Validate
     }
 
     private boolean canOutputResult(EntityRef workstation, String resultObject) {
-        EntityRef resultItem = createResultItem(resultObject);
-        try {
-            for (int outputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT")) {
-                if (InventoryUtils.canStackInto(resultItem, InventoryUtils.getItemAt(workstation, outputSlot))) {
-                    return true;
-                }
+        ResultItemDescriptor result = CoreRegistry.get(ProcessResultRegistry.class).getResultSpec(resultObject).getDescriptor();
+        if (result == null) {
+            return false;
+        }
+        for (int outputSlot : getSlotRoles(workstation).getSlots("OUTPUT")) {
+            if (result.canStackInto(InventoryUtils.getItemAt(workstation, outputSlot))) {
+                return true;
             }
-        } finally {
-            resultItem.destroy();
         }
         return false;
     }
@@ -130,38 +116,11 @@ public class HeatProcessingComponent implements Component, ProcessPart, Validate
     @Override
     public void executeEnd(EntityRef instigator, EntityRef workstation, EntityRef processEntity) {
         OutputTypeComponent output = processEntity.getComponent(OutputTypeComponent.class);
-        EntityRef toGive = createResultItem(output.type);
+        EntityRef toGive = CoreRegistry.get(ProcessResultRegistry.class).createResultItem(output.type);
 
-        if (CoreRegistry.get(InventoryManager.class).giveItem(workstation, instigator, toGive, WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT"))) {
+        if (CoreRegistry.get(InventoryManager.class).giveItem(workstation, instigator, toGive, getSlotRoles(workstation).getSlots("OUTPUT"))) {
             return;
         }
         toGive.destroy();
     }
-
-    private EntityRef createResultItem(String itemResult) {
-        int count = 1;
-        int starIndex = itemResult.indexOf("*");
-        if (starIndex > -1) {
-            count = Integer.parseInt(itemResult.substring(0, starIndex));
-            itemResult = itemResult.substring(starIndex + 1);
-        }
-
-        EntityManager entityManager = CoreRegistry.get(EntityManager.class);
-        BlockManager blockManager = CoreRegistry.get(BlockManager.class);
-        PrefabManager prefabManager = CoreRegistry.get(PrefabManager.class);
-        Prefab prefab = prefabManager.getPrefab(itemResult);
-
-        EntityRef result;
-        if (prefab != null) {
-            result = entityManager.create(prefab);
-            ItemComponent item = result.getComponent(ItemComponent.class);
-            item.stackCount = (byte) count;
-            result.saveComponent(item);
-        } else {
-            BlockItemFactory blockItemFactory = new BlockItemFactory(entityManager);
-            BlockFamily blockFamily = blockManager.getBlockFamily(itemResult);
-            result = blockItemFactory.newInstance(blockFamily, count);
-        }
-        return result;
-    }
 }
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat.ui;
+
+import org.terasology.entitySystem.entity.EntityRef;
+
+/**
+ * Samples heat of the stations displayed in the UI. Each value is calculated at most once per game time, so all the
+ * widgets displaying heat of a station in the same frame share a single calculation.
+ */
+public interface HeatSampler {
+    float getHeat(EntityRef entity);
+
+    /**
+     * Returns the fraction of the currently burning fuel of the heat producer that is yet to burn.
+     *
+     * @param entity
+     * @return
+     */
+    float getBurnFraction(EntityRef entity);
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 MovingBlocks
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.terasology.heat.ui;
+
+import org.terasology.engine.Time;
+import org.terasology.entitySystem.entity.EntityRef;
+import org.terasology.entitySystem.systems.BaseComponentSystem;
+import org.terasology.entitySystem.systems.RegisterMode;
+import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.heat.HeatUtils;
+import org.terasology.heat.component.HeatProducerComponent;
+import org.terasology.registry.In;
+import org.terasology.registry.Share;
+import org.terasology.world.BlockEntityRegistry;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RegisterSystem(RegisterMode.CLIENT)
+@Share(value = HeatSampler.class)
+public class HeatSamplerSystem extends BaseComponentSystem implements HeatSampler {
+    @In
+    private Time time;
+    @In
+    private BlockEntityRegistry blockEntityRegistry;
+
+    private long sampleTime = -1;
+    private Map<EntityRef, Float> heatSamples = new HashMap<>();
+    private Map<EntityRef, Float> burnSamples = new HashMap<>();
+
+    @Override
+    public float getHeat(EntityRef entity) {
+        updateSampleTime();
+        Float heat = heatSamples.get(entity);
+        if (heat == null) {
+            heat = HeatUtils.calculateHeatForEntity(entity, blockEntityRegistry);
+            heatSamples.put(entity, heat);
+        }
+        return heat;
+    }
+
+    @Override
+    public float getBurnFraction(EntityRef entity) {
+        long gameTime = updateSampleTime();
+        Float burn = burnSamples.get(entity);
+        if (burn == null) {
+            burn = calculateBurnFraction(entity, gameTime);
+            burnSamples.put(entity, burn);
+        }
+        return burn;
+    }
+
+    private long updateSampleTime() {
+        long gameTime = time.getGameTimeInMs();
+        if (gameTime != sampleTime) {
+            sampleTime = gameTime;
+            heatSamples.clear();
+            burnSamples.clear();
+        }
+        return gameTime;
+    }
+
+    private float calculateBurnFraction(EntityRef entity, long gameTime) {
+        HeatProducerComponent heatProducer = entity.getComponent(HeatProducerComponent.class);
+        if (heatProducer == null) {
+            return 0f;
+        }
+        List<HeatProducerComponent.FuelSourceConsume> consumedFuel = heatProducer.fuelConsumed;
+        if (consumedFuel.size() == 0) {
+            return 0f;
+        }
+
+        HeatProducerComponent.FuelSourceConsume lastConsumed = consumedFuel.get(consumedFuel.size() - 1);
+        if (gameTime > lastConsumed.startTime + lastConsumed.burnLength) {
+            return 0f;
+        }
+        return 1f - (1f * (gameTime - lastConsumed.startTime) / lastConsumed.burnLength);
+    }
+}
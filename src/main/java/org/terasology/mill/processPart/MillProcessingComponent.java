@@ -15,25 +15,21 @@
  */
 package org.terasology.mill.processPart;
 
+import org.terasology.crafting.system.ProcessResultRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoleRegistry;
+import org.terasology.crafting.system.WorkstationSlotRoles;
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
 import org.terasology.entitySystem.Component;
-import org.terasology.entitySystem.entity.EntityManager;
 import org.terasology.entitySystem.entity.EntityRef;
-import org.terasology.entitySystem.prefab.Prefab;
-import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.logic.inventory.InventoryManager;
 import org.terasology.logic.inventory.InventoryUtils;
-import org.terasology.logic.inventory.ItemComponent;
 import org.terasology.mill.component.MillProcessedComponent;
 import org.terasology.mill.component.MillProgressComponent;
 import org.terasology.registry.CoreRegistry;
 import org.terasology.workstation.component.SpecificInputSlotComponent;
 import org.terasology.workstation.component.WorkstationInventoryComponent;
 import org.terasology.workstation.process.ProcessPart;
-import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.process.inventory.ValidateInventoryItem;
-import org.terasology.world.block.BlockManager;
-import org.terasology.world.block.family.BlockFamily;
-import org.terasology.world.block.items.BlockItemFactory;
 
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
@@ -43,15 +39,7 @@ public class MillProcessingComponent implements Component, ProcessPart, Validate
 
     @Override
     public boolean isResponsibleForSlot(EntityRef workstation, int slotNo) {
-        if (isInputSlot(workstation, slotNo)) {
-            return true;
-        }
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT")) {
-            if (slot == slotNo) {
-                return true;
-            }
-        }
-        return false;
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.INPUT | WorkstationSlotRoles.OUTPUT);
     }
 
     @Override
@@ -63,12 +51,11 @@ public class MillProcessingComponent implements Component, ProcessPart, Validate
     }
 
     private boolean isInputSlot(EntityRef workstation, int slotNo) {
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT")) {
-            if (slot == slotNo) {
-                return true;
-            }
-        }
-        return false;
+        return getSlotRoles(workstation).hasAnyRole(slotNo, WorkstationSlotRoles.INPUT);
+    }
+
+    private WorkstationSlotRoles getSlotRoles(EntityRef workstation) {
+        return CoreRegistry.get(WorkstationSlotRoleRegistry.class).getSlotRoles(workstation);
     }
 
     @Override
@@ -81,7 +68,7 @@ public class MillProcessingComponent implements Component, ProcessPart, Validate
             return true;
         }
 
-        for (int slot : WorkstationInventoryUtils.getAssignedSlots(workstation, "INPUT")) {
+        for (int slot : getSlotRoles(workstation).getSlots("INPUT")) {
             MillProcessedComponent processed = InventoryUtils.getItemAt(workstation, slot).getComponent(MillProcessedComponent.class);
             if (processed != null) {
                 if (canOutputResult(workstation, getResult(processed))) {
@@ -99,15 +86,14 @@ public class MillProcessingComponent implements Component, ProcessPart, Validate
     }
 
     private boolean canOutputResult(EntityRef workstation, String resultObject) {
-        EntityRef resultItem = createResultItem(resultObject);
-        try {
-            for (int outputSlot : WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT")) {
-                if (InventoryUtils.canStackInto(resultItem, InventoryUtils.getItemAt(workstation, outputSlot))) {
-                    return true;
-                }
+        ResultItemDescriptor result = CoreRegistry.get(ProcessResultRegistry.class).getResultSpec(resultObject).getDescriptor();
+        if (result == null) {
+            return false;
+        }
+        for (int outputSlot : getSlotRoles(workstation).getSlots("OUTPUT")) {
+            if (result.canStackInto(InventoryUtils.getItemAt(workstation, outputSlot))) {
+                return true;
             }
-        } finally {
-            resultItem.destroy();
         }
         return false;
     }
@@ -150,40 +136,13 @@ public class MillProcessingComponent implements Component, ProcessPart, Validate
             workstation.removeComponent(MillProgressComponent.class);
 
             MillProcessedComponent processed = millProgress.processedItem.getComponent(MillProcessedComponent.class);
-            EntityRef resultItem = createResultItem(getResult(processed));
+            EntityRef resultItem = CoreRegistry.get(ProcessResultRegistry.class).createResultItem(getResult(processed));
             millProgress.processedItem.destroy();
 
-            if (CoreRegistry.get(InventoryManager.class).giveItem(workstation, instigator, resultItem, WorkstationInventoryUtils.getAssignedSlots(workstation, "OUTPUT"))) {
+            if (CoreRegistry.get(InventoryManager.class).giveItem(workstation, instigator, resultItem, getSlotRoles(workstation).getSlots("OUTPUT"))) {
                 return;
             }
             resultItem.destroy();
         }
     }
-
-    private EntityRef createResultItem(String itemResult) {
-        int count = 1;
-        int starIndex = itemResult.indexOf("*");
-        if (starIndex > -1) {
-            count = Integer.parseInt(itemResult.substring(0, starIndex));
-            itemResult = itemResult.substring(starIndex + 1);
-        }
-
-        EntityManager entityManager = CoreRegistry.get(EntityManager.class);
-        BlockManager blockManager = CoreRegistry.get(BlockManager.class);
-        PrefabManager prefabManager = CoreRegistry.get(PrefabManager.class);
-        Prefab prefab = prefabManager.getPrefab(itemResult);
-
-        EntityRef result;
-        if (prefab != null) {
-            result = entityManager.create(prefab);
-            ItemComponent item = result.getComponent(ItemComponent.class);
-            item.stackCount = (byte) count;
-            result.saveComponent(item);
-        } else {
-            BlockItemFactory blockItemFactory = new BlockItemFactory(entityManager);
-            BlockFamily blockFamily = blockManager.getBlockFamily(itemResult);
-            result = blockItemFactory.newInstance(blockFamily, count);
-        }
-        return result;
-    }
 }
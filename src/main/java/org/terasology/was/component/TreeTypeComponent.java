@@ -41,4 +41,9 @@ public class TreeTypeComponent implements Component {
 
         return true;
     }
+
+    @Override
+    public int hashCode() {
+        return treeType != null ? treeType.hashCode() : 0;
+    }
 }
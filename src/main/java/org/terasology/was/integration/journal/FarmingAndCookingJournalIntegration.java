@@ -23,7 +23,6 @@ import org.terasology.asset.Assets;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
 import org.terasology.entitySystem.prefab.Prefab;
-import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.journal.DiscoveredNewJournalEntry;
@@ -34,8 +33,6 @@ import org.terasology.journal.part.TitleJournalPart;
 import org.terasology.logic.characters.CharacterComponent;
 import org.terasology.logic.inventory.events.InventorySlotChangedEvent;
 import org.terasology.registry.In;
-import org.terasology.world.block.Block;
-import org.terasology.world.block.BlockManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -47,10 +44,6 @@ import java.util.List;
 public class FarmingAndCookingJournalIntegration extends BaseComponentSystem {
     @In
     private JournalManager journalManager;
-    @In
-    private PrefabManager prefabManager;
-    @In
-    private BlockManager blockManager;
 
     private String chapterId = "FarmingAndCooking";
     private Multimap<String, String> dependencyMap = HashMultimap.create();
@@ -59,10 +52,10 @@ public class FarmingAndCookingJournalIntegration extends BaseComponentSystem {
     public void preBegin() {
         StaticJournalChapterHandler chapterHandler = new StaticJournalChapterHandler();
 
-        Prefab stoneItem = prefabManager.getPrefab("WoodAndStone:stone");
-        Prefab stickItem = prefabManager.getPrefab("WoodAndStone:stick");
+        String stoneItem = "WoodAndStone:stone";
+        String stickItem = "WoodAndStone:stick";
 
-        Block quernBlock = blockManager.getBlockFamily("WoodAndStone:quern").getArchetypeBlock();
+        String quernBlock = "WoodAndStone:quern";
 
         List<JournalManager.JournalEntryPart> introduction = Arrays.asList(
                 new TitleJournalPart("Introduction"),
@@ -75,7 +68,7 @@ public class FarmingAndCookingJournalIntegration extends BaseComponentSystem {
                 new TextJournalPart("Quern, also known as a hand mill, allows you to grind various substances, including grain. " +
                         "It is also useful for grinding crystals into dust for easier metal extraction.\n\nTo craft a" +
                         " quern you need six Stones and two Sticks."),
-                new RecipeJournalPart(new Block[2], new Prefab[]{stoneItem, stickItem}, quernBlock, null, 1),
+                new RecipeJournalPart(new String[2], new String[]{stoneItem, stickItem}, quernBlock, null, 1),
                 new TextJournalPart("Using a hammer you can then create a Quern at the stone working station."));
         chapterHandler.registerJournalEntry("quern", quern);
 
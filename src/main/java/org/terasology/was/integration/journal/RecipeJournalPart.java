@@ -17,15 +17,18 @@ package org.terasology.was.integration.journal;
 
 import org.terasology.asset.Assets;
 import org.terasology.entitySystem.prefab.Prefab;
+import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.journal.JournalManager;
 import org.terasology.logic.common.DisplayNameComponent;
 import org.terasology.logic.inventory.ItemComponent;
 import org.terasology.math.Rect2i;
 import org.terasology.math.Vector2i;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.nui.Canvas;
 import org.terasology.rendering.nui.HorizontalAlign;
 import org.terasology.rendering.nui.layers.ingame.inventory.ItemIcon;
 import org.terasology.world.block.Block;
+import org.terasology.world.block.BlockManager;
 
 public class RecipeJournalPart implements JournalManager.JournalEntryPart {
     private int indentAbove = 5;
@@ -38,6 +41,12 @@ public class RecipeJournalPart implements JournalManager.JournalEntryPart {
     private ItemIcon[] ingredientIcons;
     private ItemIcon resultIcon;
 
+    private String[] blockIngredientUris;
+    private String[] itemIngredientUris;
+    private String blockResultUri;
+    private String itemResultUri;
+    private int resultCount;
+
     public RecipeJournalPart(Block[] blockIngredients, Prefab[] itemIngredients, Block blockResult, Prefab itemResult, int resultCount) {
         if (blockIngredients.length != itemIngredients.length) {
             throw new IllegalArgumentException("Arrays have to be of the same length");
@@ -61,6 +70,54 @@ public class RecipeJournalPart implements JournalManager.JournalEntryPart {
         resultIcon.setQuantity(resultCount);
     }
 
+    /**
+     * Creates the part from the uris of the blocks and item prefabs, which are resolved only when the part is displayed
+     * for the first time.
+     *
+     * @param blockIngredients
+     * @param itemIngredients
+     * @param blockResult
+     * @param itemResult
+     * @param resultCount
+     */
+    public RecipeJournalPart(String[] blockIngredients, String[] itemIngredients, String blockResult, String itemResult, int resultCount) {
+        if (blockIngredients.length != itemIngredients.length) {
+            throw new IllegalArgumentException("Arrays have to be of the same length");
+        }
+        this.blockIngredientUris = blockIngredients;
+        this.itemIngredientUris = itemIngredients;
+        this.blockResultUri = blockResult;
+        this.itemResultUri = itemResult;
+        this.resultCount = resultCount;
+    }
+
+    private void initializeIconsIfNeeded() {
+        if (resultIcon != null) {
+            return;
+        }
+        BlockManager blockManager = CoreRegistry.get(BlockManager.class);
+        PrefabManager prefabManager = CoreRegistry.get(PrefabManager.class);
+
+        ingredientIcons = new ItemIcon[blockIngredientUris.length];
+        for (int i = 0; i < ingredientIcons.length; i++) {
+            ItemIcon itemIcon = new ItemIcon();
+            if (blockIngredientUris[i] != null) {
+                initializeForBlock(itemIcon, blockManager.getBlockFamily(blockIngredientUris[i]).getArchetypeBlock());
+            } else {
+                initializeForItem(itemIcon, prefabManager.getPrefab(itemIngredientUris[i]));
+            }
+            ingredientIcons[i] = itemIcon;
+        }
+        ItemIcon icon = new ItemIcon();
+        if (blockResultUri != null) {
+            initializeForBlock(icon, blockManager.getBlockFamily(blockResultUri).getArchetypeBlock());
+        } else {
+            initializeForItem(icon, prefabManager.getPrefab(itemResultUri));
+        }
+        icon.setQuantity(resultCount);
+        resultIcon = icon;
+    }
+
     private void initializeForItem(ItemIcon itemIcon, Prefab itemIngredient) {
         ItemComponent item = itemIngredient.getComponent(ItemComponent.class);
         DisplayNameComponent displayName = itemIngredient.getComponent(DisplayNameComponent.class);
@@ -78,6 +135,7 @@ public class RecipeJournalPart implements JournalManager.JournalEntryPart {
 
     @Override
     public Vector2i getPreferredSize(Canvas canvas, long date) {
+        initializeIconsIfNeeded();
         int x = 0;
         int y = 0;
 
@@ -93,6 +151,7 @@ public class RecipeJournalPart implements JournalManager.JournalEntryPart {
 
     @Override
     public void render(Canvas canvas, Rect2i region, long date) {
+        initializeIconsIfNeeded();
         int ingredientsCount = ingredientIcons.length;
         int drawingWidth = ingredientsCount * iconSize + (ingredientsCount - 1) * ingredientSpacing + resultSpacing + iconSize;
         int x = region.minX() + horizontalAlign.getOffset(drawingWidth, region.width());
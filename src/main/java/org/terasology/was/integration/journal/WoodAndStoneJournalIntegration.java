@@ -22,8 +22,6 @@ import org.terasology.crafting.component.CraftingStationToolComponent;
 import org.terasology.crafting.event.CraftingStationUpgraded;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.event.ReceiveEvent;
-import org.terasology.entitySystem.prefab.Prefab;
-import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
 import org.terasology.journal.DiscoveredNewJournalEntry;
@@ -37,8 +35,6 @@ import org.terasology.logic.inventory.events.InventorySlotChangedEvent;
 import org.terasology.logic.players.event.OnPlayerSpawnedEvent;
 import org.terasology.multiBlock.MultiBlockFormed;
 import org.terasology.registry.In;
-import org.terasology.world.block.Block;
-import org.terasology.world.block.BlockManager;
 
 import java.util.Arrays;
 import java.util.List;
@@ -50,10 +46,6 @@ import java.util.List;
 public class WoodAndStoneJournalIntegration extends BaseComponentSystem {
     @In
     private JournalManager journalManager;
-    @In
-    private PrefabManager prefabManager;
-    @In
-    private BlockManager blockManager;
 
     private String chapterId = "WoodAndStone";
 
@@ -61,19 +53,19 @@ public class WoodAndStoneJournalIntegration extends BaseComponentSystem {
     public void preBegin() {
         StaticJournalChapterHandler chapterHandler = new StaticJournalChapterHandler();
 
-        Prefab stoneItem = prefabManager.getPrefab("WoodAndStone:Stone");
-        Prefab toolStoneItem = prefabManager.getPrefab("WoodAndStone:ToolStone");
-        Prefab axeHammerHeadItem = prefabManager.getPrefab("WoodAndStone:AxeHammerHead");
-        Prefab stickItem = prefabManager.getPrefab("WoodAndStone:Stick");
-        Prefab twigItem = prefabManager.getPrefab("WoodAndStone:Twig");
-        Prefab resinItem = prefabManager.getPrefab("WoodAndStone:Resin");
-        Prefab unlitTorchItem = prefabManager.getPrefab("WoodAndStone:UnlitTorch");
-        Prefab flintItem = prefabManager.getPrefab("WoodAndStone:Flint");
+        String stoneItem = "WoodAndStone:Stone";
+        String toolStoneItem = "WoodAndStone:ToolStone";
+        String axeHammerHeadItem = "WoodAndStone:AxeHammerHead";
+        String stickItem = "WoodAndStone:Stick";
+        String twigItem = "WoodAndStone:Twig";
+        String resinItem = "WoodAndStone:Resin";
+        String unlitTorchItem = "WoodAndStone:UnlitTorch";
+        String flintItem = "WoodAndStone:Flint";
 
-        Prefab crudeAxeHammerItem = prefabManager.getPrefab("WoodAndStone:CrudeAxeHammer");
-        Prefab stoneHammerItem = prefabManager.getPrefab("WoodAndStone:StoneHammer");
+        String crudeAxeHammerItem = "WoodAndStone:CrudeAxeHammer";
+        String stoneHammerItem = "WoodAndStone:StoneHammer";
 
-        Block litTorchBlock = blockManager.getBlockFamily("WoodAndStone:LitTorch").getArchetypeBlock();
+        String litTorchBlock = "WoodAndStone:LitTorch";
 
         List<JournalManager.JournalEntryPart> firstEntry = Arrays.asList(
                 new TitleJournalPart("Wood and Stone"),
@@ -82,12 +74,12 @@ public class WoodAndStoneJournalIntegration extends BaseComponentSystem {
                         "I need some tools for that.\n\nI should get some sticks from the nearby tree branches and dig in the ground for some " +
                         "stones I might have a use for.\n\nWhile I'm at it, I will probably need something to bind the stick and stone together - " +
                         "twigs, should be good for that.\n\nOnce I get two stones, I should be able to make a Tool Stone (press G to open crafting window)."),
-                new RecipeJournalPart(new Block[2], new Prefab[]{stoneItem, stoneItem}, null, toolStoneItem, 1),
+                new RecipeJournalPart(new String[2], new String[]{stoneItem, stoneItem}, null, toolStoneItem, 1),
                 new TextJournalPart("Once I get the Tool Stone, by using the Tool Stone on another stone I should be able " +
                         "to make an Axe-Hammer Head."),
-                new RecipeJournalPart(new Block[2], new Prefab[]{toolStoneItem, stoneItem}, null, axeHammerHeadItem, 1),
+                new RecipeJournalPart(new String[2], new String[]{toolStoneItem, stoneItem}, null, axeHammerHeadItem, 1),
                 new TextJournalPart("Then I can combine the Axe-Hammer Head with a Stick and a Twig to create a Crude Axe-Hammer."),
-                new RecipeJournalPart(new Block[3], new Prefab[]{axeHammerHeadItem, stickItem, twigItem}, null, crudeAxeHammerItem, 1));
+                new RecipeJournalPart(new String[3], new String[]{axeHammerHeadItem, stickItem, twigItem}, null, crudeAxeHammerItem, 1));
 
         chapterHandler.registerJournalEntry("1", firstEntry);
 
@@ -114,14 +106,14 @@ public class WoodAndStoneJournalIntegration extends BaseComponentSystem {
                 new TimestampJournalPart(),
                 new TextJournalPart("Now! On this workstation I should be able to create more durable tools. " +
                         "I should get myself a couple of hammers and finally go mining!"),
-                new RecipeJournalPart(new Block[3], new Prefab[]{stoneItem, twigItem, stickItem}, null, stoneHammerItem, 1),
+                new RecipeJournalPart(new String[3], new String[]{stoneItem, twigItem, stickItem}, null, stoneHammerItem, 1),
                 new TextJournalPart("It is going to be dark out there in the mines, I should prepare some torches in advance. " +
                         "I can use some of the Resin found while cutting trees with stick in a crafting window (press G) to " +
                         "create Unlit Torches."),
-                new RecipeJournalPart(new Block[2], new Prefab[]{resinItem, stickItem}, null, unlitTorchItem, 1),
+                new RecipeJournalPart(new String[2], new String[]{resinItem, stickItem}, null, unlitTorchItem, 1),
                 new TextJournalPart("Once I get them I should be able to light them up using flint in a crafting window. " +
                         "Just need to make sure not to light too many of them, as the torches last only for a bit of time."),
-                new RecipeJournalPart(new Block[2], new Prefab[]{unlitTorchItem, flintItem}, litTorchBlock, null, 1));
+                new RecipeJournalPart(new String[2], new String[]{unlitTorchItem, flintItem}, litTorchBlock, null, 1));
         chapterHandler.registerJournalEntry("6", stoneHammer);
 
         journalManager.registerJournalChapter(chapterId,
@@ -16,10 +16,10 @@
 package org.terasology.was.system;
 
 import com.google.common.base.Predicate;
+import org.terasology.crafting.system.CraftBehaviourRegistry;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.InventorySlotResolver;
-import org.terasology.crafting.system.recipe.behaviour.InventorySlotTypeResolver;
-import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ItemSlotParameter;
 import org.terasology.crafting.system.recipe.render.result.BlockRecipeResultFactory;
 import org.terasology.crafting.system.recipe.workstation.AbstractWorkstationRecipe;
 import org.terasology.crafting.system.recipe.workstation.CraftingStationIngredientPredicate;
@@ -34,12 +34,19 @@ import org.terasology.world.block.BlockUri;
 import java.util.List;
 
 public class PlankBlockRecipe extends AbstractWorkstationRecipe {
+    public static final String INGREDIENT_TYPE = "WoodAndStone:plank";
+    public static final String TOOL_TYPE = "hammer";
+
+    private ConsumePlankIngredientBehaviour plankBehaviour;
+
     public PlankBlockRecipe(int ingredientCount, int toolDurability, String shape, int resultCount) {
-        Predicate<EntityRef> plankPredicate = new CraftingStationIngredientPredicate("WoodAndStone:plank");
-        Predicate<EntityRef> hammerPredicate = new CraftingStationToolPredicate("hammer");
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
+        Predicate<EntityRef> plankPredicate = behaviourRegistry.canonical(new CraftingStationIngredientPredicate(INGREDIENT_TYPE));
+        Predicate<EntityRef> hammerPredicate = behaviourRegistry.canonical(new CraftingStationToolPredicate(TOOL_TYPE));
 
-        addIngredientBehaviour(new ConsumePlankIngredientBehaviour(plankPredicate, ingredientCount, new InventorySlotTypeResolver("INPUT")));
-        addToolBehaviour(new ReduceDurabilityCraftBehaviour(hammerPredicate, toolDurability, new InventorySlotTypeResolver("TOOL")));
+        plankBehaviour = new ConsumePlankIngredientBehaviour(plankPredicate, ingredientCount, behaviourRegistry.slotTypeResolver("INPUT"));
+        addIngredientBehaviour(plankBehaviour);
+        addToolBehaviour(behaviourRegistry.reduceDurability(hammerPredicate, toolDurability, behaviourRegistry.slotTypeResolver("TOOL")));
 
         setResultFactory(new PlankBlockRecipeResultFactory(shape, resultCount));
     }
@@ -54,10 +61,9 @@ public class PlankBlockRecipe extends AbstractWorkstationRecipe {
 
         @Override
         protected Block getBlock(List<String> parameters) {
-            String[] split = parameters.get(0).split("\\|");
+            String treeType = plankBehaviour.getTreeType(parameters.get(0));
             BlockManager blockManager = CoreRegistry.get(BlockManager.class);
-            if (split.length == 2) {
-                String treeType = split[1];
+            if (treeType != null) {
                 String blockType = "WoodAndStone:" + treeType + "Plank";
                 BlockUri customBlockUri = new BlockUri("WoodAndStone", treeType + "Plank");
                 if (blockManager.hasBlockFamily(customBlockUri)) {
@@ -82,19 +88,21 @@ public class PlankBlockRecipe extends AbstractWorkstationRecipe {
         }
 
         @Override
-        protected String getParameter(List<Integer> slots, EntityRef item) {
+        protected String[] getParameterValues(EntityRef item) {
             final TreeTypeComponent treeType = item.getComponent(TreeTypeComponent.class);
             if (treeType != null) {
-                return super.getParameter(slots, item) + "|" + treeType.treeType;
+                return new String[]{treeType.treeType};
             } else {
-                return super.getParameter(slots, item);
+                return super.getParameterValues(item);
             }
         }
 
-        @Override
-        protected List<Integer> getSlots(String parameter) {
-            final String[] split = parameter.split("\\|");
-            return super.getSlots(split[0]);
+        private String getTreeType(String parameter) {
+            ItemSlotParameter itemSlotParameter = getItemSlotParameter(parameter);
+            if (itemSlotParameter.getValueCount() > 0) {
+                return itemSlotParameter.getValue(0);
+            }
+            return null;
         }
     }
 }
@@ -17,29 +17,38 @@ package org.terasology.was.system;
 
 import com.google.common.base.Predicate;
 import org.terasology.asset.Assets;
+import org.terasology.crafting.system.CraftBehaviourRegistry;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.InventorySlotResolver;
-import org.terasology.crafting.system.recipe.behaviour.InventorySlotTypeResolver;
-import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.ItemSlotParameter;
 import org.terasology.crafting.system.recipe.render.result.ItemRecipeResultFactory;
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
 import org.terasology.crafting.system.recipe.workstation.AbstractWorkstationRecipe;
 import org.terasology.crafting.system.recipe.workstation.CraftingStationIngredientPredicate;
 import org.terasology.crafting.system.recipe.workstation.CraftingStationToolPredicate;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.logic.common.DisplayNameComponent;
+import org.terasology.registry.CoreRegistry;
 import org.terasology.rendering.nui.layers.ingame.inventory.ItemIcon;
 import org.terasology.was.component.TreeTypeComponent;
 
 import java.util.List;
 
 public class PlankRecipe extends AbstractWorkstationRecipe {
+    public static final String INGREDIENT_TYPE = "WoodAndStone:wood";
+    public static final String TOOL_TYPE = "axe";
+
+    private ConsumeWoodIngredientBehaviour woodBehaviour;
+
     public PlankRecipe(int plankCount) {
-        Predicate<EntityRef> woodPredicate = new CraftingStationIngredientPredicate("WoodAndStone:wood");
-        Predicate<EntityRef> axePredicate = new CraftingStationToolPredicate("axe");
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
+        Predicate<EntityRef> woodPredicate = behaviourRegistry.canonical(new CraftingStationIngredientPredicate(INGREDIENT_TYPE));
+        Predicate<EntityRef> axePredicate = behaviourRegistry.canonical(new CraftingStationToolPredicate(TOOL_TYPE));
 
-        addIngredientBehaviour(new ConsumeWoodIngredientBehaviour(woodPredicate, 1, new InventorySlotTypeResolver("INPUT")));
-        addToolBehaviour(new ReduceDurabilityCraftBehaviour(axePredicate, 1, new InventorySlotTypeResolver("TOOL")));
+        woodBehaviour = new ConsumeWoodIngredientBehaviour(woodPredicate, 1, behaviourRegistry.slotTypeResolver("INPUT"));
+        addIngredientBehaviour(woodBehaviour);
+        addToolBehaviour(behaviourRegistry.reduceDurability(axePredicate, 1, behaviourRegistry.slotTypeResolver("TOOL")));
 
         setResultFactory(new PlankRecipeResultFactory(Assets.getPrefab("WoodAndStone:WoodPlank"), plankCount));
     }
@@ -53,20 +62,17 @@ public class PlankRecipe extends AbstractWorkstationRecipe {
         public void setupDisplay(List<String> parameters, ItemIcon itemIcon) {
             super.setupDisplay(parameters, itemIcon);
 
-            final String[] split = parameters.get(0).split("\\|");
-            if (split.length > 1) {
-                itemIcon.setTooltip(split[1] + " Plank");
+            final String treeType = woodBehaviour.getTreeType(parameters.get(0));
+            if (treeType != null) {
+                itemIcon.setTooltip(treeType + " Plank");
             }
         }
 
         @Override
         public EntityRef createResult(List<String> parameters, int multiplier) {
             final EntityRef result = super.createResult(parameters, multiplier);
-            final String woodParameter = parameters.get(0);
-            final String[] split = woodParameter.split("\\|");
-            if (split.length > 0) {
-                String treeType = split[1];
-
+            final String treeType = woodBehaviour.getTreeType(parameters.get(0));
+            if (treeType != null) {
                 DisplayNameComponent displayName = result.getComponent(DisplayNameComponent.class);
                 displayName.name = treeType + " Plank";
                 result.saveComponent(displayName);
@@ -78,6 +84,19 @@ public class PlankRecipe extends AbstractWorkstationRecipe {
 
             return result;
         }
+
+        @Override
+        public ResultItemDescriptor getResultDescriptor(List<String> parameters, int multiplier) {
+            final ResultItemDescriptor result = super.getResultDescriptor(parameters, multiplier);
+            final String treeType = woodBehaviour.getTreeType(parameters.get(0));
+            if (treeType != null) {
+                TreeTypeComponent treeTypeComponent = new TreeTypeComponent();
+                treeTypeComponent.treeType = treeType;
+                return result.withComponent(treeTypeComponent);
+            }
+
+            return result;
+        }
     }
 
     private class ConsumeWoodIngredientBehaviour extends ConsumeItemCraftBehaviour {
@@ -86,19 +105,21 @@ public class PlankRecipe extends AbstractWorkstationRecipe {
         }
 
         @Override
-        protected String getParameter(List<Integer> slots, EntityRef item) {
+        protected String[] getParameterValues(EntityRef item) {
             final TreeTypeComponent treeType = item.getComponent(TreeTypeComponent.class);
             if (treeType != null) {
-                return super.getParameter(slots, item) + "|" + treeType.treeType;
+                return new String[]{treeType.treeType};
             } else {
-                return super.getParameter(slots, item);
+                return super.getParameterValues(item);
             }
         }
 
-        @Override
-        protected List<Integer> getSlots(String parameter) {
-            final String[] split = parameter.split("\\|");
-            return super.getSlots(split[0]);
+        private String getTreeType(String parameter) {
+            ItemSlotParameter itemSlotParameter = getItemSlotParameter(parameter);
+            if (itemSlotParameter.getValueCount() > 0) {
+                return itemSlotParameter.getValue(0);
+            }
+            return null;
         }
     }
 }
@@ -16,14 +16,14 @@
 package org.terasology.was.system;
 
 import com.google.common.base.Predicate;
+import com.google.common.base.Supplier;
 import org.terasology.crafting.component.CraftInHandRecipeComponent;
 import org.terasology.crafting.component.CraftingStationMaterialComponent;
+import org.terasology.crafting.system.CraftBehaviourRegistry;
 import org.terasology.crafting.system.CraftInHandRecipeRegistry;
+import org.terasology.crafting.system.CraftingRecipeWarmUp;
 import org.terasology.crafting.system.CraftingWorkstationProcess;
 import org.terasology.crafting.system.CraftingWorkstationProcessFactory;
-import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
-import org.terasology.crafting.system.recipe.behaviour.PresenceItemCraftBehaviour;
-import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
 import org.terasology.crafting.system.recipe.hand.CompositeTypeBasedCraftInHandRecipe;
 import org.terasology.crafting.system.recipe.hand.CraftInHandIngredientPredicate;
 import org.terasology.crafting.system.recipe.hand.CraftInHandRecipe;
@@ -31,12 +31,15 @@ import org.terasology.crafting.system.recipe.hand.PlayerInventorySlotResolver;
 import org.terasology.crafting.system.recipe.render.RecipeResultFactory;
 import org.terasology.crafting.system.recipe.render.result.BlockRecipeResultFactory;
 import org.terasology.crafting.system.recipe.render.result.ItemRecipeResultFactory;
+import org.terasology.crafting.system.recipe.workstation.CraftingStationRecipe;
 import org.terasology.crafting.system.recipe.workstation.DefaultWorkstationRecipe;
+import org.terasology.crafting.system.recipe.workstation.WorkstationRecipeRequirements;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.prefab.Prefab;
 import org.terasology.entitySystem.prefab.PrefabManager;
 import org.terasology.entitySystem.systems.BaseComponentSystem;
 import org.terasology.entitySystem.systems.RegisterSystem;
+import org.terasology.heat.HeatThresholdRegistry;
 import org.terasology.multiBlock.Basic2DSizeFilter;
 import org.terasology.multiBlock.Basic3DSizeFilter;
 import org.terasology.multiBlock.BlockUriEntityFilter;
@@ -51,6 +54,9 @@ import org.terasology.workstation.system.WorkstationRegistry;
 import org.terasology.world.block.BlockManager;
 import org.terasology.world.block.BlockUri;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
@@ -66,6 +72,12 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
     private BlockManager blockManager;
     @In
     private PrefabManager prefabManager;
+    @In
+    private HeatThresholdRegistry heatThresholdRegistry;
+    @In
+    private CraftingRecipeWarmUp craftingRecipeWarmUp;
+    @In
+    private CraftBehaviourRegistry craftBehaviourRegistry;
 
     @Override
     public void initialise() {
@@ -92,13 +104,21 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
     }
 
     private void addWoodPlankRecipes() {
-        workstationRegistry.registerProcess(WoodAndStone.BASIC_WOODCRAFTING_PROCESS_TYPE,
-                new CraftingWorkstationProcess(WoodAndStone.BASIC_WOODCRAFTING_PROCESS_TYPE, "Materials|WoodAndStone:WoodPlank",
-                        new PlankRecipe(2)));
+        registerLazyProcess(WoodAndStone.BASIC_WOODCRAFTING_PROCESS_TYPE, "Materials|WoodAndStone:WoodPlank", new PlankRecipeSupplier(2));
+        registerLazyProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE, "Materials|WoodAndStone:WoodPlank", new PlankRecipeSupplier(3));
+    }
 
-        workstationRegistry.registerProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE,
-                new CraftingWorkstationProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE, "Materials|WoodAndStone:WoodPlank",
-                        new PlankRecipe(3)));
+    /**
+     * Registers the process with a recipe that is created on first use, or by the warm-up after the game starts.
+     *
+     * @param processType
+     * @param recipeId
+     * @param recipeSupplier
+     */
+    private void registerLazyProcess(String processType, String recipeId, Supplier<? extends CraftingStationRecipe> recipeSupplier) {
+        CraftingWorkstationProcess process = new CraftingWorkstationProcess(processType, recipeId, recipeSupplier);
+        workstationRegistry.registerProcess(processType, process);
+        craftingRecipeWarmUp.scheduleWarmUp(process);
     }
 
     private void addWorkstationFormingRecipes() {
@@ -129,8 +149,10 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
     }
 
     private void addHerbalismWorkstationRecipes() {
+        HerbalismCraftingStationRecipe herbalismRecipe = new HerbalismCraftingStationRecipe();
         workstationRegistry.registerProcess(WoodAndStone.HERBALISM_PROCESS_TYPE,
-                new CraftingWorkstationProcess(WoodAndStone.HERBALISM_PROCESS_TYPE, "WoodAndStone:HerbPotion", new HerbalismCraftingStationRecipe()));
+                new CraftingWorkstationProcess(WoodAndStone.HERBALISM_PROCESS_TYPE, "WoodAndStone:HerbPotion", herbalismRecipe));
+        heatThresholdRegistry.addHeatThreshold(WoodAndStone.HERBALISM_PROCESS_TYPE, herbalismRecipe.getRequiredHeat());
     }
 
     private void addStandardWoodWorkstationBlockShapeRecipes() {
@@ -161,9 +183,8 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
             resultShape = module + ":" + shape;
         }
 
-        workstationRegistry.registerProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE,
-                new CraftingWorkstationProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE, recipeName,
-                        new PlankBlockRecipe(2 * ingredientMultiplier, durabilityMultiplier, resultShape, 4 * resultMultiplier)));
+        registerLazyProcess(WoodAndStone.ADVANCED_WOODCRAFTING_PROCESS_TYPE, recipeName,
+                new PlankBlockRecipeSupplier(2 * ingredientMultiplier, durabilityMultiplier, resultShape, 4 * resultMultiplier));
     }
 
     private void addPlankBlockRecipes() {
@@ -206,23 +227,15 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
     private void addShapeRecipe(String processType, String recipeNamePrefix, String ingredient, int ingredientBasicCount,
                                 String tool, int toolDurability, String blockResultPrefix, int blockResultCount,
                                 String shape, String module, int ingredientMultiplier, int resultMultiplier, int toolDurabilityMultiplier) {
-        DefaultWorkstationRecipe shapeRecipe = new DefaultWorkstationRecipe();
-        shapeRecipe.addIngredient(ingredient, ingredientBasicCount * ingredientMultiplier);
-        shapeRecipe.addRequiredTool(tool, toolDurability * toolDurabilityMultiplier);
-        shapeRecipe.setResultFactory(new BlockRecipeResultFactory(blockManager.getBlockFamily(blockResultPrefix + ":" + module + ":" + shape).getArchetypeBlock(),
-                blockResultCount * resultMultiplier));
-
-        workstationRegistry.registerProcess(processType, new CraftingWorkstationProcess(processType, recipeNamePrefix + shape, shapeRecipe));
+        registerLazyProcess(processType, recipeNamePrefix + shape,
+                new BlockShapeRecipeSupplier(ingredient, ingredientBasicCount * ingredientMultiplier, tool, toolDurability * toolDurabilityMultiplier,
+                        blockResultPrefix + ":" + module + ":" + shape, blockResultCount * resultMultiplier));
     }
 
     private void addWorkstationBlockShapesRecipe(String processType, String recipeNamePrefix, String ingredient, int ingredientBasicCount,
                                                  String tool, int toolDurability, String blockResultPrefix, int blockResultCount) {
-        DefaultWorkstationRecipe fullBlockRecipe = new DefaultWorkstationRecipe();
-        fullBlockRecipe.addIngredient(ingredient, ingredientBasicCount);
-        fullBlockRecipe.addRequiredTool(tool, toolDurability);
-        fullBlockRecipe.setResultFactory(new BlockRecipeResultFactory(blockManager.getBlockFamily(blockResultPrefix).getArchetypeBlock(), blockResultCount));
-
-        workstationRegistry.registerProcess(processType, new CraftingWorkstationProcess(processType, recipeNamePrefix, fullBlockRecipe));
+        registerLazyProcess(processType, recipeNamePrefix,
+                new BlockShapeRecipeSupplier(ingredient, ingredientBasicCount, tool, toolDurability, blockResultPrefix, blockResultCount));
 
         addShapeRecipe(processType, recipeNamePrefix, ingredient, ingredientBasicCount, tool, toolDurability, blockResultPrefix, blockResultCount,
                 "Stair", 3, 4, 2);
@@ -258,20 +271,15 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
 
     private void parseCraftInHandRecipe(CraftInHandRecipeComponent recipeComponent) {
         String recipeId = recipeComponent.recipeId;
-        RecipeResultFactory resultFactory;
-        if (recipeComponent.blockResult != null) {
-            resultFactory = new BlockRecipeResultFactory(blockManager.getBlockFamily(recipeComponent.blockResult).getArchetypeBlock(), 1);
-        } else {
-            resultFactory = new ItemRecipeResultFactory(prefabManager.getPrefab(recipeComponent.itemResult), 1);
-        }
-        CompositeTypeBasedCraftInHandRecipe recipe = new CompositeTypeBasedCraftInHandRecipe(resultFactory);
+        CompositeTypeBasedCraftInHandRecipe recipe = new CompositeTypeBasedCraftInHandRecipe(
+                new CraftInHandResultFactorySupplier(recipeComponent.blockResult, recipeComponent.itemResult));
 
         if (recipeComponent.recipeComponents != null) {
             for (String component : recipeComponent.recipeComponents) {
                 String[] split = component.split("\\*");
                 int count = Integer.parseInt(split[0]);
                 String type = split[1];
-                recipe.addItemCraftBehaviour(new ConsumeItemCraftBehaviour(new CraftInHandIngredientPredicate(type), count, PlayerInventorySlotResolver.singleton()));
+                recipe.addItemCraftBehaviour(craftBehaviourRegistry.consumeItem(new CraftInHandIngredientPredicate(type), count, PlayerInventorySlotResolver.singleton()));
             }
         }
         if (recipeComponent.recipeTools != null) {
@@ -279,7 +287,7 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
                 String[] split = tool.split("\\*");
                 int durability = Integer.parseInt(split[0]);
                 String type = split[1];
-                recipe.addItemCraftBehaviour(new ReduceDurabilityCraftBehaviour(new CraftInHandIngredientPredicate(type), durability,
+                recipe.addItemCraftBehaviour(craftBehaviourRegistry.reduceDurability(new CraftInHandIngredientPredicate(type), durability,
                         PlayerInventorySlotResolver.singleton()));
             }
         }
@@ -288,10 +296,11 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
                 String[] split = activator.split("\\*");
                 int count = Integer.parseInt(split[0]);
                 String type = split[1];
-                recipe.addItemCraftBehaviour(new PresenceItemCraftBehaviour(new CraftInHandIngredientPredicate(type), count, PlayerInventorySlotResolver.singleton()));
+                recipe.addItemCraftBehaviour(craftBehaviourRegistry.presenceItem(new CraftInHandIngredientPredicate(type), count, PlayerInventorySlotResolver.singleton()));
             }
         }
         addCraftInHandRecipe(recipeId, recipe);
+        craftingRecipeWarmUp.scheduleWarmUp(recipe);
     }
 
     private void addCraftInHandRecipe(String recipeId, CraftInHandRecipe craftInHandRecipe) {
@@ -311,4 +320,126 @@ public class RegisterWoodAndStoneRecipes extends BaseComponentSystem {
             return stationMaterial != null && stationMaterial.stationType.equals(stationType);
         }
     }
+
+    private final class CraftInHandResultFactorySupplier implements Supplier<RecipeResultFactory> {
+        private String blockResult;
+        private String itemResult;
+
+        private CraftInHandResultFactorySupplier(String blockResult, String itemResult) {
+            this.blockResult = blockResult;
+            this.itemResult = itemResult;
+        }
+
+        @Override
+        public RecipeResultFactory get() {
+            if (blockResult != null) {
+                return new BlockRecipeResultFactory(blockManager.getBlockFamily(blockResult).getArchetypeBlock(), 1);
+            }
+            return new ItemRecipeResultFactory(prefabManager.getPrefab(itemResult), 1);
+        }
+    }
+
+    private final class BlockShapeRecipeSupplier implements Supplier<CraftingStationRecipe>, WorkstationRecipeRequirements {
+        private String ingredient;
+        private int ingredientCount;
+        private String tool;
+        private int toolDurability;
+        private String blockResult;
+        private int blockResultCount;
+
+        private BlockShapeRecipeSupplier(String ingredient, int ingredientCount, String tool, int toolDurability, String blockResult, int blockResultCount) {
+            this.ingredient = ingredient;
+            this.ingredientCount = ingredientCount;
+            this.tool = tool;
+            this.toolDurability = toolDurability;
+            this.blockResult = blockResult;
+            this.blockResultCount = blockResultCount;
+        }
+
+        @Override
+        public CraftingStationRecipe get() {
+            DefaultWorkstationRecipe recipe = new DefaultWorkstationRecipe();
+            recipe.addIngredient(ingredient, ingredientCount);
+            recipe.addRequiredTool(tool, toolDurability);
+            recipe.setResultFactory(new BlockRecipeResultFactory(blockManager.getBlockFamily(blockResult).getArchetypeBlock(), blockResultCount));
+            return recipe;
+        }
+
+        @Override
+        public Set<String> getRequiredIngredientTypes() {
+            return Collections.singleton(ingredient);
+        }
+
+        @Override
+        public Set<String> getRequiredToolTypes() {
+            return Collections.singleton(tool);
+        }
+
+        @Override
+        public Set<String> getRequiredFluidTypes() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static final class PlankRecipeSupplier implements Supplier<CraftingStationRecipe>, WorkstationRecipeRequirements {
+        private int plankCount;
+
+        private PlankRecipeSupplier(int plankCount) {
+            this.plankCount = plankCount;
+        }
+
+        @Override
+        public CraftingStationRecipe get() {
+            return new PlankRecipe(plankCount);
+        }
+
+        @Override
+        public Set<String> getRequiredIngredientTypes() {
+            return Collections.singleton(PlankRecipe.INGREDIENT_TYPE);
+        }
+
+        @Override
+        public Set<String> getRequiredToolTypes() {
+            return Collections.singleton(PlankRecipe.TOOL_TYPE);
+        }
+
+        @Override
+        public Set<String> getRequiredFluidTypes() {
+            return Collections.emptySet();
+        }
+    }
+
+    private static final class PlankBlockRecipeSupplier implements Supplier<CraftingStationRecipe>, WorkstationRecipeRequirements {
+        private int ingredientCount;
+        private int toolDurability;
+        private String shape;
+        private int resultCount;
+
+        private PlankBlockRecipeSupplier(int ingredientCount, int toolDurability, String shape, int resultCount) {
+            this.ingredientCount = ingredientCount;
+            this.toolDurability = toolDurability;
+            this.shape = shape;
+            this.resultCount = resultCount;
+        }
+
+        @Override
+        public CraftingStationRecipe get() {
+            return new PlankBlockRecipe(ingredientCount, toolDurability, shape, resultCount);
+        }
+
+        @Override
+        public Set<String> getRequiredIngredientTypes() {
+            return Collections.singleton(PlankBlockRecipe.INGREDIENT_TYPE);
+        }
+
+        @Override
+        public Set<String> getRequiredToolTypes() {
+            return Collections.singleton(PlankBlockRecipe.TOOL_TYPE);
+        }
+
+        @Override
+        public Set<String> getRequiredFluidTypes() {
+            return Collections.emptySet();
+        }
+    }
 }
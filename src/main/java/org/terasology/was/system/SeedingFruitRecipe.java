@@ -15,11 +15,11 @@
  */
 package org.terasology.was.system;
 
-import com.google.common.base.Predicate;
 import org.terasology.asset.Asset;
 import org.terasology.asset.Assets;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.IngredientCraftBehaviour;
+import org.terasology.crafting.system.recipe.behaviour.PrefabClassifiedPredicate;
 import org.terasology.crafting.system.recipe.behaviour.ReduceDurabilityCraftBehaviour;
 import org.terasology.crafting.system.recipe.hand.CraftInHandIngredientPredicate;
 import org.terasology.crafting.system.recipe.hand.CraftInHandRecipe;
@@ -161,39 +161,37 @@ public class SeedingFruitRecipe implements CraftInHandRecipe {
         private static final Name PLANT_PACK_MODULE = new Name("plantpack");
 
         public ConsumeFruitBehaviour() {
-            super(new Predicate<EntityRef>() {
+            super(new PrefabClassifiedPredicate() {
                 @Override
-                public boolean apply(EntityRef input) {
-                    Prefab prefab = input.getParentPrefab();
-                    return prefab != null && prefab.getURI().getModuleName().equals(PLANT_PACK_MODULE)
+                public boolean applyToPrefab(Prefab prefab) {
+                    return prefab.getURI().getModuleName().equals(PLANT_PACK_MODULE)
                             && prefab.getURI().getAssetName().toString().toLowerCase().endsWith("fruit");
                 }
-            }, 1, PlayerInventorySlotResolver.singleton());
-        }
 
-        @Override
-        protected List<Integer> getSlots(String parameter) {
-            return super.getSlots(parameter.substring(0, parameter.indexOf('|')));
+                @Override
+                protected boolean applyToItem(EntityRef item) {
+                    Prefab prefab = item.getParentPrefab();
+                    return prefab != null && applyToPrefab(prefab);
+                }
+            }, 1, PlayerInventorySlotResolver.singleton());
         }
 
         @Override
-        protected String getParameter(List<Integer> slots, EntityRef item) {
+        protected String[] getParameterValues(EntityRef item) {
             Prefab prefab = item.getParentPrefab();
             String assetName = prefab.getURI().getAssetName().toString();
             String fruitName = assetName.substring(0, assetName.length() - 5);
 
             ItemComponent component = item.getComponent(ItemComponent.class);
-            return super.getParameter(slots, item) + "|" + fruitName + "|" + ((Asset) component.icon).getURI().toSimpleString();
+            return new String[]{fruitName, ((Asset) component.icon).getURI().toSimpleString()};
         }
 
         public String getSeedResult(String parameter) {
-            String[] split = parameter.split("\\|");
-            return "PlantPack:" + split[1] + "Seed";
+            return "PlantPack:" + getItemSlotParameter(parameter).getValue(0) + "Seed";
         }
 
         public String getFruitIcon(String parameter) {
-            String[] split = parameter.split("\\|");
-            return split[2];
+            return getItemSlotParameter(parameter).getValue(1);
         }
     }
 }
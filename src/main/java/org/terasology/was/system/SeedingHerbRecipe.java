@@ -179,31 +179,26 @@ public class SeedingHerbRecipe implements CraftInHandRecipe {
         }
 
         @Override
-        protected List<Integer> getSlots(String parameter) {
-            return super.getSlots(parameter.substring(0, parameter.indexOf('|')));
-        }
-
-        @Override
-        protected String getParameter(List<Integer> slots, EntityRef item) {
+        protected String[] getParameterValues(EntityRef item) {
             final GenomeComponent genome = item.getComponent(GenomeComponent.class);
 
             final GenomeManager genomeManager = CoreRegistry.get(GenomeManager.class);
             String herbName = genomeManager.getGenomeProperty(item, Herbalism.NAME_PROPERTY, String.class);
             String herbIconUri = ((Asset) genomeManager.getGenomeProperty(item, Herbalism.ICON_PROPERTY, TextureRegion.class)).getURI().toSimpleString();
 
-            return super.getParameter(slots, item) + "|" + genome.genes + "|" + herbName + "|" + herbIconUri;
+            return new String[]{genome.genes, herbName, herbIconUri};
         }
 
         public String getSeedGenome(String parameter) {
-            return parameter.split("\\|")[1];
+            return getItemSlotParameter(parameter).getValue(0);
         }
 
         public String getHerbName(String parameter) {
-            return parameter.split("\\|")[2];
+            return getItemSlotParameter(parameter).getValue(1);
         }
 
         public String getHerbIconUri(String parameter) {
-            return parameter.split("\\|")[3];
+            return getItemSlotParameter(parameter).getValue(2);
         }
     }
 }
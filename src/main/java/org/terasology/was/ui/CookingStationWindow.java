@@ -6,7 +6,6 @@ import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.fluid.component.FluidComponent;
 import org.terasology.fluid.component.FluidInventoryComponent;
 import org.terasology.fluid.system.FluidRegistry;
-import org.terasology.heat.component.HeatProducerComponent;
 import org.terasology.heat.ui.ThermometerWidget;
 import org.terasology.logic.players.LocalPlayer;
 import org.terasology.math.TeraMath;
@@ -20,8 +19,6 @@ import org.terasology.workstation.component.WorkstationInventoryComponent;
 import org.terasology.workstation.component.WorkstationProcessingComponent;
 import org.terasology.workstation.ui.BaseWorkstationScreen;
 
-import java.util.List;
-
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
@@ -110,28 +107,7 @@ public class CookingStationWindow extends BaseWorkstationScreen {
 
         WorkstationScreenUtils.setupTemperatureWidget(station, temperature, 20f);
 
-        burn.bindValue(
-                new Binding<Float>() {
-                    @Override
-                    public Float get() {
-                        HeatProducerComponent heatProducer = station.getComponent(HeatProducerComponent.class);
-                        List<HeatProducerComponent.FuelSourceConsume> consumedFuel = heatProducer.fuelConsumed;
-                        if (consumedFuel.size() == 0) {
-                            return 0f;
-                        }
-                        long gameTime = CoreRegistry.get(Time.class).getGameTimeInMs();
-
-                        HeatProducerComponent.FuelSourceConsume lastConsumed = consumedFuel.get(consumedFuel.size() - 1);
-                        if (gameTime > lastConsumed.startTime + lastConsumed.burnLength) {
-                            return 0f;
-                        }
-                        return 1f - (1f * (gameTime - lastConsumed.startTime) / lastConsumed.burnLength);
-                    }
-
-                    @Override
-                    public void set(Float value) {
-                    }
-                });
+        WorkstationScreenUtils.setupBurnWidget(station, burn);
 
         availableRecipes.setStation(station);
 
@@ -3,7 +3,6 @@ package org.terasology.was.ui;
 import org.terasology.engine.Time;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.heat.component.HeatProcessedComponent;
-import org.terasology.heat.component.HeatProducerComponent;
 import org.terasology.heat.ui.ThermometerWidget;
 import org.terasology.logic.inventory.InventoryUtils;
 import org.terasology.logic.players.LocalPlayer;
@@ -16,8 +15,6 @@ import org.terasology.workstation.component.WorkstationProcessingComponent;
 import org.terasology.workstation.process.WorkstationInventoryUtils;
 import org.terasology.workstation.ui.BaseWorkstationScreen;
 
-import java.util.List;
-
 /**
  * @author Marcin Sciesinski <marcins78@gmail.com>
  */
@@ -76,28 +73,7 @@ public class FurnaceWindow extends BaseWorkstationScreen {
                     }
                 });
 
-        burn.bindValue(
-                new Binding<Float>() {
-                    @Override
-                    public Float get() {
-                        HeatProducerComponent heatProducer = workstation.getComponent(HeatProducerComponent.class);
-                        List<HeatProducerComponent.FuelSourceConsume> consumedFuel = heatProducer.fuelConsumed;
-                        if (consumedFuel.size() == 0) {
-                            return 0f;
-                        }
-                        long gameTime = CoreRegistry.get(Time.class).getGameTimeInMs();
-
-                        HeatProducerComponent.FuelSourceConsume lastConsumed = consumedFuel.get(consumedFuel.size() - 1);
-                        if (gameTime > lastConsumed.startTime + lastConsumed.burnLength) {
-                            return 0f;
-                        }
-                        return 1f - (1f * (gameTime - lastConsumed.startTime) / lastConsumed.burnLength);
-                    }
-
-                    @Override
-                    public void set(Float value) {
-                    }
-                });
+        WorkstationScreenUtils.setupBurnWidget(workstation, burn);
 
         craftingProgress.bindVisible(
                 new Binding<Boolean>() {
@@ -17,11 +17,12 @@ package org.terasology.was.ui;
 
 import com.google.common.base.Predicate;
 import org.terasology.asset.Assets;
+import org.terasology.crafting.system.CraftBehaviourRegistry;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeFluidBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.ConsumeItemCraftBehaviour;
 import org.terasology.crafting.system.recipe.behaviour.InventorySlotResolver;
-import org.terasology.crafting.system.recipe.behaviour.InventorySlotTypeResolver;
 import org.terasology.crafting.system.recipe.render.result.ItemRecipeResultFactory;
+import org.terasology.crafting.system.recipe.render.result.ResultItemDescriptor;
 import org.terasology.crafting.system.recipe.workstation.AbstractWorkstationRecipe;
 import org.terasology.entitySystem.entity.EntityRef;
 import org.terasology.entitySystem.prefab.Prefab;
@@ -38,15 +39,19 @@ import java.util.Arrays;
 import java.util.List;
 
 public class HerbalismCraftingStationRecipe extends AbstractWorkstationRecipe {
+    private ConsumeHerbIngredientBehaviour herbBehaviour;
+
     public HerbalismCraftingStationRecipe() {
+        CraftBehaviourRegistry behaviourRegistry = CoreRegistry.get(CraftBehaviourRegistry.class);
         Predicate<EntityRef> herbComponentPredicate = new Predicate<EntityRef>() {
             @Override
             public boolean apply(EntityRef input) {
                 return input.hasComponent(HerbComponent.class);
             }
         };
-        addIngredientBehaviour(new ConsumeHerbIngredientBehaviour(herbComponentPredicate, 1, new InventorySlotTypeResolver("INPUT")));
-        addFluidBehaviour(new ConsumeFluidBehaviour("Fluid:Water", 0.2f, new InventorySlotTypeResolver("FLUID_INPUT")));
+        herbBehaviour = new ConsumeHerbIngredientBehaviour(herbComponentPredicate, 1, behaviourRegistry.slotTypeResolver("INPUT"));
+        addIngredientBehaviour(herbBehaviour);
+        addFluidBehaviour(new ConsumeFluidBehaviour("Fluid:Water", 0.2f, behaviourRegistry.slotTypeResolver("FLUID_INPUT")));
         setRequiredHeat(95f);
         setProcessingDuration(10000);
         setResultFactory(new PotionRecipeResultFactory(Assets.getPrefab("WoodAndStone:HerbPotion"), 1));
@@ -60,8 +65,7 @@ public class HerbalismCraftingStationRecipe extends AbstractWorkstationRecipe {
         @Override
         public void setupDisplay(List<String> parameters, ItemIcon itemIcon) {
             super.setupDisplay(parameters, itemIcon);
-            final String herbParameter = parameters.get(0);
-            final String herbName = herbParameter.split("\\|")[3];
+            final String herbName = herbBehaviour.getHerbName(parameters.get(0));
             itemIcon.setTooltipLines(
                     Arrays.asList(new TooltipLine("Herb Potion"), HerbalismClientSystem.getHerbTooltipLine(herbName)));
         }
@@ -69,16 +73,22 @@ public class HerbalismCraftingStationRecipe extends AbstractWorkstationRecipe {
         @Override
         public EntityRef createResult(List<String> parameters, int multiplier) {
             final EntityRef result = super.createResult(parameters, multiplier);
-            final String herbParameter = parameters.get(0);
-            final String[] herbSplit = herbParameter.split("\\|");
-            final String genomeId = herbSplit[1];
-            final String genes = herbSplit[2];
+            final String genomeId = herbBehaviour.getGenomeId(parameters.get(0));
+            final String genes = herbBehaviour.getGenes(parameters.get(0));
             GenomeComponent genome = new GenomeComponent();
             genome.genomeId = genomeId;
             genome.genes = genes;
             result.addComponent(genome);
             return result;
         }
+
+        @Override
+        public ResultItemDescriptor getResultDescriptor(List<String> parameters, int multiplier) {
+            GenomeComponent genome = new GenomeComponent();
+            genome.genomeId = herbBehaviour.getGenomeId(parameters.get(0));
+            genome.genes = herbBehaviour.getGenes(parameters.get(0));
+            return super.getResultDescriptor(parameters, multiplier).withComponent(genome);
+        }
     }
 
     private class ConsumeHerbIngredientBehaviour extends ConsumeItemCraftBehaviour {
@@ -87,15 +97,22 @@ public class HerbalismCraftingStationRecipe extends AbstractWorkstationRecipe {
         }
 
         @Override
-        protected String getParameter(List<Integer> slots, EntityRef item) {
+        protected String[] getParameterValues(EntityRef item) {
             final GenomeComponent genome = item.getComponent(GenomeComponent.class);
             final String herbName = CoreRegistry.get(GenomeManager.class).getGenomeProperty(item, Herbalism.NAME_PROPERTY, String.class);
-            return super.getParameter(slots, item) + "|" + genome.genomeId + "|" + genome.genes + "|" + herbName;
+            return new String[]{genome.genomeId, genome.genes, herbName};
         }
 
-        @Override
-        protected List<Integer> getSlots(String parameter) {
-            return super.getSlots(parameter.substring(0, parameter.indexOf('|')));
+        private String getGenomeId(String parameter) {
+            return getItemSlotParameter(parameter).getValue(0);
+        }
+
+        private String getGenes(String parameter) {
+            return getItemSlotParameter(parameter).getValue(1);
+        }
+
+        private String getHerbName(String parameter) {
+            return getItemSlotParameter(parameter).getValue(2);
         }
     }
 }